@@ -0,0 +1,26 @@
+#!/usr/bin/env bash
+# Gera um arquivo de Class Data Sharing (AppCDS) para a API a partir do jar em target/.
+# Uma execução de treino inicia o contexto Spring e encerra logo após o refresh
+# (-Dspring.context.exit=onRefresh), gravando as classes carregadas em target/cds/application.jsa.
+#
+# Uso: scripts/build-cds.sh [opções extras da JVM para o treino, ex.: -Dspring.aot.enabled=true]
+# Depois execute com: java -XX:SharedArchiveFile=target/cds/application.jsa -cp "$(cat target/cds/classpath)" com.alertae.api.AlertaeApiApplication
+set -euo pipefail
+
+cd "$(dirname "$0")/.."
+JAR="$(ls target/alertae-api-*.jar | grep -v original | head -n 1)"
+OUT=target/cds
+
+# O CDS só aceita jars no classpath (não jars aninhados nem diretórios com classes)
+rm -rf "$OUT"
+mkdir -p "$OUT/extracted" "$OUT/lib"
+(cd "$OUT/extracted" && jar xf "../../../$JAR")
+cp "$OUT"/extracted/BOOT-INF/lib/*.jar "$OUT/lib/"
+jar cf "$OUT/application.jar" -C "$OUT/extracted/BOOT-INF/classes" .
+rm -rf "$OUT/extracted"
+{ printf '%s' "$OUT/application.jar"; for lib in $(ls "$OUT"/lib/*.jar | sort); do printf ':%s' "$lib"; done; } > "$OUT/classpath"
+
+java -XX:ArchiveClassesAtExit="$OUT/application.jsa" -Dspring.context.exit=onRefresh "$@" \
+    -cp "$(cat "$OUT/classpath")" com.alertae.api.AlertaeApiApplication --server.port=0
+
+echo "Arquivo CDS gerado em $OUT/application.jsa"
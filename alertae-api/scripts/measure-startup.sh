@@ -0,0 +1,40 @@
+#!/usr/bin/env bash
+# Mede o tempo até a primeira resposta (time-to-first-request) da API, do início do processo java
+# até a primeira resposta HTTP 200, em várias execuções.
+#
+# Uso: scripts/measure-startup.sh [execuções] [argumentos da aplicação...]
+#   JAVA_OPTS   opções da JVM (ex.: "-Dspring.aot.enabled=true -XX:SharedArchiveFile=target/cds/application.jsa")
+#   APP_CMD     comando completo no lugar de "java $JAVA_OPTS -jar <jar>" (ex.: target/alertae-api para a imagem nativa)
+#   PROBE_PATH  endpoint consultado (padrão: /api/v1/alerts/tiles/stats, que não depende do Supabase)
+#   PORT        porta usada nas medições (padrão: 18081)
+set -euo pipefail
+
+cd "$(dirname "$0")/.."
+RUNS="${1:-5}"
+shift || true
+PORT="${PORT:-18081}"
+PROBE_PATH="${PROBE_PATH:-/api/v1/alerts/tiles/stats}"
+JAR="$(ls target/alertae-api-*.jar | grep -v original | head -n 1)"
+APP_CMD="${APP_CMD:-java ${JAVA_OPTS:-} -jar $JAR}"
+
+results=()
+for run in $(seq 1 "$RUNS"); do
+    start=$(date +%s%N)
+    $APP_CMD --server.port="$PORT" "$@" > "target/startup-run-$run.log" 2>&1 &
+    pid=$!
+    until curl -sf -o /dev/null "http://127.0.0.1:$PORT$PROBE_PATH"; do
+        if ! kill -0 "$pid" 2> /dev/null; then
+            echo "A aplicação terminou antes de responder; veja target/startup-run-$run.log" >&2
+            exit 1
+        fi
+        sleep 0.02
+    done
+    elapsed=$(( ($(date +%s%N) - start) / 1000000 ))
+    kill "$pid"
+    wait "$pid" 2> /dev/null || true
+    echo "Execução $run: ${elapsed} ms"
+    results+=("$elapsed")
+done
+
+sorted=($(printf '%s\n' "${results[@]}" | sort -n))
+echo "Mediana: ${sorted[$(( RUNS / 2 ))]} ms (mínimo ${sorted[0]} ms, máximo ${sorted[$(( RUNS - 1 ))]} ms)"
@@ -0,0 +1,131 @@
+package com.alertae.api.cluster;
+
+import com.alertae.api.model.Alert;
+import com.alertae.api.service.AlertChangeListener;
+import com.alertae.api.service.AlertChangePublisher;
+import com.alertae.api.service.AlertIndexBootstrap;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+/**
+ * Mantém os índices e caches de alertas das instâncias sincronizados: envia às demais instâncias as
+ * alterações feitas nesta e aplica as recebidas pelo {@link AlertChangePublisher}, como se fossem locais.
+ * As alterações recebidas não são reenviadas. Quando o transporte detecta mensagens perdidas, os índices desta
+ * instância são recarregados do Supabase ({@link AlertIndexBootstrap#reload()}).
+ */
+@Component
+@Order(Ordered.LOWEST_PRECEDENCE)
+public class ClusterAlertSync implements AlertChangeListener {
+
+    private final ClusterTransport transport;
+    private final AlertChangePublisher changePublisher;
+
+    /**
+     * Indica que a thread atual está aplicando uma alteração recebida de outra instância.
+     */
+    private final ThreadLocal<Boolean> applyingRemote = ThreadLocal.withInitial(() -> Boolean.FALSE);
+
+    /**
+     * Construtor para injeção de dependências.
+     * @param transport transporte entre as instâncias
+     * @param changePublisher publicador das alterações para os índices em memória
+     * @param bootstrap carga dos índices, refeita quando mensagens de outra instância se perdem
+     */
+    public ClusterAlertSync(ClusterTransport transport, AlertChangePublisher changePublisher, AlertIndexBootstrap bootstrap) {
+        this.transport = transport;
+        this.changePublisher = changePublisher;
+        transport.subscribe(this::onMessage);
+        transport.onMessagesLost(bootstrap::reload);
+    }
+
+    @Override
+    public void onAlertCreated(Alert alert) {
+        onAlertCreated(alert, null, null);
+    }
+
+    /**
+     * Envia a criação junto com a cidade e a UF, usadas pelas estatísticas das demais instâncias.
+     * @param alert alerta criado
+     * @param city cidade informada na criação, ou null
+     * @param region UF/região informada na criação, ou null
+     */
+    @Override
+    public void onAlertCreated(Alert alert, String city, String region) {
+        ClusterMessage message = message(ClusterMessage.Type.ALERT_CREATED, null, alert);
+        if (message != null) {
+            message.setCity(city);
+            message.setRegion(region);
+            transport.publish(message);
+        }
+    }
+
+    @Override
+    public void onAlertUpdated(Alert previous, Alert current) {
+        send(ClusterMessage.Type.ALERT_UPDATED, previous, current);
+    }
+
+    @Override
+    public void onAlertDeleted(Alert previous) {
+        send(ClusterMessage.Type.ALERT_DELETED, null, previous);
+    }
+
+    /**
+     * A carga inicial é feita por cada instância a partir do Supabase; não há nada a enviar.
+     * @param alert alerta existente
+     */
+    @Override
+    public void onAlertLoaded(Alert alert) {
+    }
+
+    @Override
+    public void onAlertsReset() {
+    }
+
+    /**
+     * Repassa as alterações no momento em que ocorrem, sem participar das cargas.
+     * @return false
+     */
+    @Override
+    public boolean holdsAlertState() {
+        return false;
+    }
+
+    private void send(ClusterMessage.Type type, Alert previous, Alert alert) {
+        ClusterMessage message = message(type, previous, alert);
+        if (message != null) {
+            transport.publish(message);
+        }
+    }
+
+    /**
+     * Monta a mensagem de uma alteração local, ou retorna null se a alteração veio de outra instância.
+     */
+    private ClusterMessage message(ClusterMessage.Type type, Alert previous, Alert alert) {
+        if (applyingRemote.get()) {
+            return null;
+        }
+        ClusterMessage message = ClusterMessage.of(type);
+        message.setAlert(alert);
+        message.setPrevious(previous);
+        return message;
+    }
+
+    private void onMessage(ClusterMessage message) {
+        if (message.getAlert() == null) {
+            return;
+        }
+        applyingRemote.set(Boolean.TRUE);
+        try {
+            switch (message.getType()) {
+                case ALERT_CREATED -> changePublisher.publishCreated(message.getAlert(), message.getCity(), message.getRegion());
+                case ALERT_UPDATED -> changePublisher.publishUpdated(message.getPrevious(), message.getAlert());
+                case ALERT_DELETED -> changePublisher.publishDeleted(message.getAlert());
+                default -> {
+                }
+            }
+        } finally {
+            applyingRemote.set(Boolean.FALSE);
+        }
+    }
+}
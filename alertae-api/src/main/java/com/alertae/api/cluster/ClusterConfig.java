@@ -0,0 +1,76 @@
+package com.alertae.api.cluster;
+
+import com.google.gson.Gson;
+import okhttp3.OkHttpClient;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Configuração do transporte entre as instâncias da API, escolhido por {@code cluster.mode}:
+ * <ul>
+ *     <li>{@code none} (padrão): instância isolada, sem comunicação;</li>
+ *     <li>{@code in-memory}: várias instâncias no mesmo processo, para testes ({@code cluster.group});</li>
+ *     <li>{@code http}: instâncias independentes que se comunicam por HTTP ({@code cluster.peers}, {@code cluster.secret}).</li>
+ * </ul>
+ */
+@Configuration
+public class ClusterConfig {
+
+    @Value("${cluster.mode:none}")
+    private String mode;
+
+    @Value("${cluster.group:default}")
+    private String group;
+
+    @Value("${cluster.peers:}")
+    private String peers;
+
+    @Value("${cluster.secret:}")
+    private String secret;
+
+    @Value("${cluster.heartbeat-interval:PT5S}")
+    private Duration heartbeatInterval;
+
+    @Value("${cluster.queue-capacity:10000}")
+    private int queueCapacity;
+
+    /**
+     * Cria o transporte configurado.
+     * @param httpClient cliente HTTP usado pelo modo http
+     * @param gson serializador JSON usado pelo modo http
+     * @return transporte entre as instâncias (encerrado pelo método {@code close()}, quando existir)
+     * @throws IllegalStateException se o modo for desconhecido ou o modo http estiver sem segredo
+     */
+    @Bean
+    public ClusterTransport clusterTransport(OkHttpClient httpClient, Gson gson) {
+        switch (mode.trim().toLowerCase(Locale.ROOT)) {
+            case "none":
+                return new LocalClusterTransport();
+            case "in-memory":
+                return new InMemoryClusterTransport(group);
+            case "http":
+                if (secret.isBlank()) {
+                    throw new IllegalStateException("cluster.secret é obrigatório quando cluster.mode=http.");
+                }
+                return new HttpClusterTransport(httpClient, gson, parsePeers(peers), secret, heartbeatInterval, queueCapacity);
+            default:
+                throw new IllegalStateException("Valor inválido para cluster.mode: " + mode + " (use none, in-memory ou http).");
+        }
+    }
+
+    private static List<String> parsePeers(String value) {
+        List<String> result = new ArrayList<>();
+        for (String peer : value.split(",")) {
+            if (!peer.isBlank()) {
+                result.add(peer.trim());
+            }
+        }
+        return result;
+    }
+}
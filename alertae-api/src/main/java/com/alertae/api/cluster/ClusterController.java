@@ -0,0 +1,62 @@
+package com.alertae.api.cluster;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonParseException;
+import io.swagger.v3.oas.annotations.Hidden;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.Arrays;
+
+/**
+ * Endpoint interno que recebe as mensagens das demais instâncias (somente com {@code cluster.mode=http}).
+ * Não faz parte da API pública e não aparece na documentação. O modo é comparado como em {@link ClusterConfig}
+ * (sem espaços e sem diferenciar maiúsculas).
+ */
+@Hidden
+@RestController
+@ConditionalOnExpression("'${cluster.mode:none}'.trim().toLowerCase() == 'http'")
+public class ClusterController {
+
+    private final HttpClusterTransport transport;
+    private final Gson gson;
+
+    /**
+     * Construtor para injeção de dependências.
+     * @param transport transporte entre as instâncias (HTTP)
+     * @param gson serializador JSON
+     */
+    public ClusterController(ClusterTransport transport, Gson gson) {
+        this.transport = (HttpClusterTransport) transport;
+        this.gson = gson;
+    }
+
+    /**
+     * Recebe um lote de mensagens de outra instância.
+     * @param secret segredo compartilhado entre as instâncias
+     * @param body lista de {@link ClusterMessage} em JSON
+     * @return 204 se processado, 403 se o segredo não confere ou 400 se o corpo for inválido
+     */
+    @PostMapping(HttpClusterTransport.MESSAGES_PATH)
+    public ResponseEntity<?> receive(@RequestHeader(name = HttpClusterTransport.SECRET_HEADER, required = false) String secret,
+                                     @RequestBody String body) {
+        if (!transport.isTrusted(secret)) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+        ClusterMessage[] messages;
+        try {
+            messages = gson.fromJson(body, ClusterMessage[].class);
+        } catch (JsonParseException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+        if (messages != null) {
+            transport.receive(Arrays.asList(messages));
+        }
+        return ResponseEntity.noContent().build();
+    }
+}
@@ -0,0 +1,68 @@
+package com.alertae.api.cluster;
+
+import com.alertae.api.service.GeocodingService;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Compartilha a geocodificação entre as instâncias: cada consulta resolvida pelo Nominatim é enviada às
+ * demais instâncias, que a guardam no próprio cache, e o limite de requisições ao Nominatim
+ * ({@code geocoding.rate-limit.requests-per-second}) é dividido entre as instâncias ativas, de modo que a
+ * soma de todas não ultrapasse a cota.
+ */
+@Component
+public class ClusterGeocodeSync {
+
+    private static final Logger log = LoggerFactory.getLogger(ClusterGeocodeSync.class);
+
+    private final ClusterTransport transport;
+    private final GeocodingService geocodingService;
+    private volatile int appliedClusterSize;
+
+    /**
+     * Construtor para injeção de dependências.
+     * @param transport transporte entre as instâncias
+     * @param geocodingService serviço de geocodificação desta instância
+     */
+    public ClusterGeocodeSync(ClusterTransport transport, GeocodingService geocodingService) {
+        this.transport = transport;
+        this.geocodingService = geocodingService;
+    }
+
+    /**
+     * Registra o envio e o recebimento dos resultados e aplica a divisão inicial do limite.
+     */
+    @PostConstruct
+    public void init() {
+        geocodingService.addResultListener((query, coords) -> {
+            ClusterMessage message = ClusterMessage.of(ClusterMessage.Type.GEOCODE_RESULT);
+            message.setQuery(query);
+            message.setCoordinates(coords);
+            transport.publish(message);
+        });
+        transport.subscribe(message -> {
+            if (message.getType() == ClusterMessage.Type.GEOCODE_RESULT && message.getQuery() != null) {
+                geocodingService.putCachedResult(message.getQuery(), message.getCoordinates());
+            }
+        });
+        refreshRateLimitShare();
+    }
+
+    /**
+     * Recalcula a parcela do limite do Nominatim quando a quantidade de instâncias ativas muda.
+     */
+    @Scheduled(fixedDelayString = "${cluster.heartbeat-interval:PT5S}")
+    public void refreshRateLimitShare() {
+        int size = transport.getClusterSize();
+        if (size != appliedClusterSize) {
+            geocodingService.setRateLimitShare(size);
+            if (appliedClusterSize != 0 || size > 1) {
+                log.info("Limite do Nominatim dividido entre {} instâncias.", size);
+            }
+            appliedClusterSize = size;
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package com.alertae.api.cluster;
+
+import com.alertae.api.model.Alert;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Mensagem trocada entre as instâncias da API: alterações de alertas, resultados de geocodificação e sinais de vida usados para contar as instâncias ativas.
+ */
+@Data
+@NoArgsConstructor
+public class ClusterMessage {
+
+    /**
+     * Tipo da mensagem.
+     */
+    public enum Type {
+        ALERT_CREATED, ALERT_UPDATED, ALERT_DELETED, GEOCODE_RESULT, HEARTBEAT
+    }
+
+    private Type type;
+
+    /**
+     * Identificador da instância que originou a mensagem.
+     */
+    private String originNodeId;
+
+    /**
+     * Número sequencial da mensagem na instância de origem, usado para descartar reenvios e detectar perdas.
+     */
+    private long sequence;
+
+    /**
+     * Momento da publicação na instância de origem (epoch millis).
+     */
+    private long publishedAt;
+
+    /**
+     * Alerta criado ou atualizado, ou o alerta excluído.
+     */
+    private Alert alert;
+
+    /**
+     * Estado anterior do alerta nas atualizações, ou null se desconhecido.
+     */
+    private Alert previous;
+
+    /**
+     * Cidade informada na criação do alerta (ALERT_CREATED), usada pelas estatísticas.
+     */
+    private String city;
+
+    /**
+     * UF/região informada na criação do alerta (ALERT_CREATED), usada pelas estatísticas.
+     */
+    private String region;
+
+    /**
+     * Consulta normalizada enviada ao Nominatim.
+     */
+    private String query;
+
+    /**
+     * Coordenadas [latitude, longitude] da consulta, ou null se o endereço não foi encontrado.
+     */
+    private double[] coordinates;
+
+    /**
+     * Cria uma mensagem do tipo informado.
+     * @param type tipo da mensagem
+     * @return nova mensagem
+     */
+    public static ClusterMessage of(Type type) {
+        ClusterMessage message = new ClusterMessage();
+        message.setType(type);
+        return message;
+    }
+}
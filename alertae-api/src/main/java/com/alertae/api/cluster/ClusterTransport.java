@@ -0,0 +1,49 @@
+package com.alertae.api.cluster;
+
+import java.util.function.Consumer;
+
+/**
+ * Canal de comunicação entre as instâncias da API que rodam atrás do balanceador de carga.
+ * A implementação é escolhida pela propriedade {@code cluster.mode} (ver {@link ClusterConfig}).
+ * As mensagens publicadas são entregues às demais instâncias, nunca à própria.
+ */
+public interface ClusterTransport {
+
+    /**
+     * Retorna o identificador desta instância.
+     * @return identificador único da instância
+     */
+    String getNodeId();
+
+    /**
+     * Retorna a quantidade de instâncias ativas, incluindo esta.
+     * @return quantidade de instâncias (no mínimo 1)
+     */
+    int getClusterSize();
+
+    /**
+     * Indica se esta instância é a coordenadora do cluster, responsável pelas rotinas que devem rodar
+     * em uma única instância (como a expiração de alertas). A coordenadora é a instância ativa de menor identificador.
+     * @return true se esta instância deve executar as rotinas únicas
+     */
+    boolean isCoordinator();
+
+    /**
+     * Envia uma mensagem às demais instâncias. Não bloqueia a thread chamadora à espera da entrega.
+     * @param message mensagem a ser enviada
+     */
+    void publish(ClusterMessage message);
+
+    /**
+     * Registra uma ação executada para cada mensagem recebida de outra instância.
+     * @param handler ação que recebe a mensagem
+     */
+    void subscribe(Consumer<ClusterMessage> handler);
+
+    /**
+     * Registra uma ação executada quando se detecta que mensagens de outra instância foram perdidas
+     * (a entrega nunca falha nos transportes dentro do processo).
+     * @param action ação que ressincroniza o estado desta instância
+     */
+    void onMessagesLost(Runnable action);
+}
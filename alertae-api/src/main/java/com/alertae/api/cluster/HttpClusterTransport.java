@@ -0,0 +1,321 @@
+package com.alertae.api.cluster;
+
+import com.google.gson.Gson;
+import okhttp3.MediaType;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.RequestBody;
+import okhttp3.Response;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * Transporte HTTP entre as instâncias ({@code cluster.mode=http}). Cada instância conhece as demais pela
+ * lista {@code cluster.peers} e envia as mensagens, em lotes, para {@code POST /internal/cluster/messages}
+ * de cada uma, autenticadas pelo cabeçalho {@value #SECRET_HEADER}.
+ * <p>
+ * Cada instância de destino tem uma fila limitada e uma thread de envio própria, preservando a ordem das
+ * mensagens e isolando instâncias lentas ou fora do ar. Um lote que falha é reenviado com espera crescente
+ * (até um intervalo de sinal de vida); enquanto isso a fila acumula as mensagens novas e, se encher, as
+ * excedentes são descartadas. Cada mensagem leva um número sequencial da instância de origem: quem recebe
+ * ignora os reenvios já processados e, ao encontrar um salto na sequência, aciona {@link #onMessagesLost(Runnable)}
+ * para se ressincronizar com o Supabase. Mensagens publicadas antes de esta instância iniciar são ignoradas,
+ * pois a carga inicial dos índices já as reflete (pressupõe relógios sincronizados, ex.: NTP).
+ * <p>
+ * Sinais de vida periódicos ({@code cluster.heartbeat-interval}) definem quais instâncias estão ativas: uma
+ * instância sem sinal por três intervalos deixa de ser contada. Como também são numerados, uma perda é
+ * detectada em até um intervalo, mesmo sem novas alterações de alertas.
+ */
+public class HttpClusterTransport implements ClusterTransport {
+
+    private static final Logger log = LoggerFactory.getLogger(HttpClusterTransport.class);
+
+    /**
+     * Cabeçalho com o segredo compartilhado entre as instâncias.
+     */
+    public static final String SECRET_HEADER = "X-Cluster-Secret";
+
+    /**
+     * Caminho que recebe as mensagens das demais instâncias.
+     */
+    public static final String MESSAGES_PATH = "/internal/cluster/messages";
+
+    private static final MediaType JSON = MediaType.get("application/json; charset=utf-8");
+    private static final int MAX_BATCH = 100;
+    private static final int MISSED_HEARTBEATS = 3;
+    private static final long MIN_BACKOFF_MILLIS = 100;
+
+    private final OkHttpClient httpClient;
+    private final Gson gson;
+    private final String secret;
+    private final Duration heartbeatInterval;
+    private final String nodeId = UUID.randomUUID().toString();
+    private final List<Peer> peers = new ArrayList<>();
+    private final List<Consumer<ClusterMessage>> handlers = new CopyOnWriteArrayList<>();
+    private final List<Runnable> lostHandlers = new CopyOnWriteArrayList<>();
+    private final Map<String, Long> lastSeenByNode = new ConcurrentHashMap<>();
+    private final Map<String, Long> lastSequenceByNode = new HashMap<>();
+    private long sequence;
+    private final long startedAtMillis = System.currentTimeMillis();
+    private final ScheduledExecutorService heartbeatExecutor;
+
+    /**
+     * Cria o transporte e inicia as threads de envio e de sinal de vida.
+     * @param httpClient cliente HTTP
+     * @param gson serializador JSON
+     * @param peerUrls URLs base das demais instâncias (ex.: {@code http://api-2:8080})
+     * @param secret segredo compartilhado entre as instâncias
+     * @param heartbeatInterval intervalo entre os sinais de vida
+     * @param queueCapacity capacidade da fila de envio de cada instância
+     */
+    public HttpClusterTransport(OkHttpClient httpClient, Gson gson, List<String> peerUrls, String secret,
+                                Duration heartbeatInterval, int queueCapacity) {
+        this.httpClient = httpClient;
+        this.gson = gson;
+        this.secret = secret;
+        this.heartbeatInterval = heartbeatInterval;
+        for (String url : peerUrls) {
+            Peer peer = new Peer(stripTrailingSlash(url), queueCapacity);
+            peers.add(peer);
+            peer.start();
+        }
+        heartbeatExecutor = Executors.newSingleThreadScheduledExecutor(daemon("cluster-heartbeat"));
+        long intervalMillis = heartbeatInterval.toMillis();
+        heartbeatExecutor.scheduleWithFixedDelay(() -> publish(ClusterMessage.of(ClusterMessage.Type.HEARTBEAT)),
+                0, intervalMillis, TimeUnit.MILLISECONDS);
+        log.info("Cluster HTTP iniciado (nó {}, {} instâncias configuradas).", nodeId, peers.size());
+    }
+
+    /**
+     * Interrompe as threads de envio e de sinal de vida.
+     */
+    public void close() {
+        heartbeatExecutor.shutdownNow();
+        for (Peer peer : peers) {
+            peer.thread.interrupt();
+        }
+    }
+
+    @Override
+    public String getNodeId() {
+        return nodeId;
+    }
+
+    @Override
+    public int getClusterSize() {
+        if (System.currentTimeMillis() - startedAtMillis < heartbeatInterval.toMillis() * MISSED_HEARTBEATS) {
+            // Antes de receber os primeiros sinais de vida, considera todas as instâncias configuradas como ativas
+            return Math.max(1 + aliveNodes().size(), 1 + peers.size());
+        }
+        return 1 + aliveNodes().size();
+    }
+
+    @Override
+    public boolean isCoordinator() {
+        for (String other : aliveNodes()) {
+            if (other.compareTo(nodeId) < 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * {@inheritDoc}
+     * Sincronizado para que a ordem nas filas de envio siga a numeração das mensagens.
+     */
+    @Override
+    public synchronized void publish(ClusterMessage message) {
+        message.setOriginNodeId(nodeId);
+        message.setSequence(++sequence);
+        message.setPublishedAt(System.currentTimeMillis());
+        for (Peer peer : peers) {
+            if (!peer.queue.offer(message)) {
+                long dropped = peer.dropped.incrementAndGet();
+                if (dropped == 1 || dropped % 1000 == 0) {
+                    log.warn("Fila de envio para {} cheia; {} mensagens descartadas (a instância se ressincroniza ao detectar a perda).",
+                            peer.url, dropped);
+                }
+            }
+        }
+    }
+
+    @Override
+    public void subscribe(Consumer<ClusterMessage> handler) {
+        handlers.add(handler);
+    }
+
+    @Override
+    public void onMessagesLost(Runnable action) {
+        lostHandlers.add(action);
+    }
+
+    /**
+     * Verifica o segredo recebido de outra instância, em tempo constante.
+     * @param received valor do cabeçalho {@value #SECRET_HEADER}
+     * @return true se o segredo confere
+     */
+    public boolean isTrusted(String received) {
+        return received != null && MessageDigest.isEqual(
+                secret.getBytes(StandardCharsets.UTF_8),
+                received.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Processa um lote de mensagens recebido de outra instância.
+     * As mensagens originadas por esta instância (quando ela também aparece em {@code cluster.peers}) são ignoradas,
+     * assim como as já processadas (lote reenviado) e as publicadas antes de esta instância iniciar.
+     * Sincronizado porque um lote reenviado pode chegar enquanto o original ainda é processado.
+     * @param messages mensagens recebidas, na ordem de envio
+     */
+    public synchronized void receive(List<ClusterMessage> messages) {
+        long now = System.currentTimeMillis();
+        for (ClusterMessage message : messages) {
+            if (message == null || message.getType() == null || message.getOriginNodeId() == null
+                    || nodeId.equals(message.getOriginNodeId())) {
+                continue;
+            }
+            String origin = message.getOriginNodeId();
+            lastSeenByNode.put(origin, now);
+            Long last = lastSequenceByNode.get(origin);
+            if (last != null && message.getSequence() <= last) {
+                continue;
+            }
+            lastSequenceByNode.put(origin, message.getSequence());
+            if (last != null && message.getSequence() > last + 1) {
+                log.warn("{} mensagens do nó {} foram perdidas; ressincronizando.", message.getSequence() - last - 1, origin);
+                for (Runnable action : lostHandlers) {
+                    action.run();
+                }
+            }
+            if (message.getType() == ClusterMessage.Type.HEARTBEAT || message.getPublishedAt() < startedAtMillis) {
+                continue;
+            }
+            for (Consumer<ClusterMessage> handler : handlers) {
+                try {
+                    handler.accept(message);
+                } catch (RuntimeException e) {
+                    log.warn("Falha ao processar mensagem {} do nó {}", message.getType(), message.getOriginNodeId(), e);
+                }
+            }
+        }
+    }
+
+    private List<String> aliveNodes() {
+        long cutoff = System.currentTimeMillis() - heartbeatInterval.toMillis() * MISSED_HEARTBEATS;
+        List<String> alive = new ArrayList<>();
+        lastSeenByNode.forEach((node, lastSeen) -> {
+            if (lastSeen >= cutoff) {
+                alive.add(node);
+            }
+        });
+        lastSeenByNode.values().removeIf(lastSeen -> lastSeen < cutoff);
+        return alive;
+    }
+
+    private static String stripTrailingSlash(String url) {
+        String trimmed = url.trim();
+        return trimmed.endsWith("/") ? trimmed.substring(0, trimmed.length() - 1) : trimmed;
+    }
+
+    private static ThreadFactory daemon(String name) {
+        return runnable -> {
+            Thread thread = new Thread(runnable, name);
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    /**
+     * Instância de destino, com a sua fila e thread de envio.
+     */
+    private final class Peer {
+
+        private final String url;
+        private final BlockingQueue<ClusterMessage> queue;
+        private final AtomicLong dropped = new AtomicLong();
+        private final Thread thread;
+
+        Peer(String url, int queueCapacity) {
+            this.url = url;
+            this.queue = new ArrayBlockingQueue<>(queueCapacity);
+            this.thread = daemon("cluster-sender-" + url).newThread(this::run);
+        }
+
+        void start() {
+            thread.start();
+        }
+
+        private void run() {
+            List<ClusterMessage> batch = new ArrayList<>(MAX_BATCH);
+            long backoffMillis = 0;
+            while (!Thread.currentThread().isInterrupted()) {
+                try {
+                    if (batch.isEmpty()) {
+                        batch.add(queue.take());
+                        queue.drainTo(batch, MAX_BATCH - 1);
+                    }
+                    send(batch);
+                    batch.clear();
+                    if (backoffMillis > 0) {
+                        log.info("Instância {} voltou a responder.", url);
+                        backoffMillis = 0;
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } catch (IOException e) {
+                    // Instância fora do ar: o mesmo lote é reenviado após a espera
+                    if (backoffMillis == 0) {
+                        log.warn("Falha ao enviar mensagens para {}: {}", url, e.getMessage());
+                    }
+                    backoffMillis = Math.min(Math.max(MIN_BACKOFF_MILLIS, backoffMillis * 2), heartbeatInterval.toMillis());
+                    try {
+                        Thread.sleep(backoffMillis);
+                    } catch (InterruptedException interrupted) {
+                        Thread.currentThread().interrupt();
+                    }
+                }
+            }
+        }
+
+        /**
+         * Envia um lote. Falhas de rede e erros 5xx são lançados para reenvio; um lote recusado (4xx) não
+         * adiantaria reenviar e é descartado, e o destino detecta a perda pela sequência.
+         */
+        private void send(List<ClusterMessage> batch) throws IOException {
+            Request request = new Request.Builder()
+                    .url(url + MESSAGES_PATH)
+                    .header(SECRET_HEADER, secret)
+                    .post(RequestBody.create(gson.toJson(batch), JSON))
+                    .build();
+            try (Response response = httpClient.newCall(request).execute()) {
+                if (response.code() >= 500) {
+                    throw new IOException("HTTP " + response.code());
+                }
+                if (!response.isSuccessful()) {
+                    log.warn("Instância {} recusou {} mensagens: HTTP {}", url, batch.size(), response.code());
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package com.alertae.api.cluster;
+
+import com.google.gson.Gson;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * Transporte dentro do mesmo processo ({@code cluster.mode=in-memory}), usado em testes e no
+ * desenvolvimento local para simular várias instâncias: cada contexto Spring do mesmo grupo
+ * ({@code cluster.group}) é um nó, e as mensagens são entregues de forma síncrona aos demais nós.
+ */
+public class InMemoryClusterTransport implements ClusterTransport {
+
+    private static final Logger log = LoggerFactory.getLogger(InMemoryClusterTransport.class);
+
+    private static final Gson GSON = new Gson();
+    private static final Map<String, List<InMemoryClusterTransport>> GROUPS = new ConcurrentHashMap<>();
+
+    private final String group;
+    private final String nodeId = UUID.randomUUID().toString();
+    private final List<Consumer<ClusterMessage>> handlers = new CopyOnWriteArrayList<>();
+
+    /**
+     * Cria um nó e o adiciona ao grupo informado.
+     * @param group nome do grupo de nós
+     */
+    public InMemoryClusterTransport(String group) {
+        this.group = group;
+        GROUPS.computeIfAbsent(group, g -> new CopyOnWriteArrayList<>()).add(this);
+    }
+
+    /**
+     * Remove o nó do grupo (chamado no encerramento do contexto).
+     */
+    public void close() {
+        List<InMemoryClusterTransport> members = GROUPS.get(group);
+        if (members != null) {
+            members.remove(this);
+        }
+    }
+
+    @Override
+    public String getNodeId() {
+        return nodeId;
+    }
+
+    @Override
+    public int getClusterSize() {
+        List<InMemoryClusterTransport> members = GROUPS.get(group);
+        return members == null ? 1 : Math.max(1, members.size());
+    }
+
+    @Override
+    public boolean isCoordinator() {
+        for (InMemoryClusterTransport member : GROUPS.getOrDefault(group, List.of())) {
+            if (member.nodeId.compareTo(nodeId) < 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public void publish(ClusterMessage message) {
+        message.setOriginNodeId(nodeId);
+        // Serializa como no transporte HTTP, para que os nós não compartilhem as mesmas instâncias
+        String json = GSON.toJson(message);
+        for (InMemoryClusterTransport member : GROUPS.getOrDefault(group, List.of())) {
+            if (member != this) {
+                member.deliver(GSON.fromJson(json, ClusterMessage.class));
+            }
+        }
+    }
+
+    @Override
+    public void subscribe(Consumer<ClusterMessage> handler) {
+        handlers.add(handler);
+    }
+
+    @Override
+    public void onMessagesLost(Runnable action) {
+    }
+
+    private void deliver(ClusterMessage message) {
+        for (Consumer<ClusterMessage> handler : handlers) {
+            try {
+                handler.accept(message);
+            } catch (RuntimeException e) {
+                log.warn("Falha ao processar mensagem {} no nó {}", message.getType(), nodeId, e);
+            }
+        }
+    }
+}
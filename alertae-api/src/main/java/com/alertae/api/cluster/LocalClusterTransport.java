@@ -0,0 +1,39 @@
+package com.alertae.api.cluster;
+
+import java.util.UUID;
+import java.util.function.Consumer;
+
+/**
+ * Transporte de uma instância isolada ({@code cluster.mode=none}): as mensagens são descartadas.
+ */
+public class LocalClusterTransport implements ClusterTransport {
+
+    private final String nodeId = UUID.randomUUID().toString();
+
+    @Override
+    public String getNodeId() {
+        return nodeId;
+    }
+
+    @Override
+    public int getClusterSize() {
+        return 1;
+    }
+
+    @Override
+    public boolean isCoordinator() {
+        return true;
+    }
+
+    @Override
+    public void publish(ClusterMessage message) {
+    }
+
+    @Override
+    public void subscribe(Consumer<ClusterMessage> handler) {
+    }
+
+    @Override
+    public void onMessagesLost(Runnable action) {
+    }
+}
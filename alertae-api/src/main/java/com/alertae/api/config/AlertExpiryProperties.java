@@ -0,0 +1,74 @@
+package com.alertae.api.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Propriedades de expiração de alertas (prefixo {@code alerts.expiry}).
+ */
+@Data
+@ConfigurationProperties(prefix = "alerts.expiry")
+public class AlertExpiryProperties {
+
+    /**
+     * O que fazer com os alertas expirados.
+     */
+    public enum Mode {
+        DELETE, ARCHIVE
+    }
+
+    /**
+     * Ativa a rotina de expiração (requer a coluna expires_at na tabela alerts).
+     */
+    private boolean enabled = false;
+
+    /**
+     * Tempo de expiração padrão para alertas sem categoria configurada; nulo indica que não expiram.
+     */
+    private Duration defaultTtl;
+
+    /**
+     * Tempo de expiração por categoria (chave em minúsculas).
+     */
+    private Map<String, Duration> ttlByCategory = new HashMap<>();
+
+    /**
+     * Excluir ou arquivar os alertas expirados.
+     */
+    private Mode mode = Mode.DELETE;
+
+    /**
+     * Tabela de arquivo usada no modo ARCHIVE.
+     */
+    private String archiveTable = "alerts_archive";
+
+    /**
+     * Quantidade de alertas processados por lote.
+     */
+    private int batchSize = 500;
+
+    /**
+     * Quantidade máxima de lotes processados por execução da rotina.
+     */
+    private int maxBatchesPerRun = 100;
+
+    /**
+     * Retorna o tempo de expiração aplicável a uma categoria.
+     * @param category categoria do alerta (pode ser nula)
+     * @return tempo de expiração, ou null se o alerta não deve expirar
+     */
+    public Duration ttlFor(String category) {
+        if (category != null) {
+            Duration ttl = ttlByCategory.get(category.trim().toLowerCase(Locale.ROOT));
+            if (ttl != null) {
+                return ttl;
+            }
+        }
+        return defaultTtl;
+    }
+}
@@ -0,0 +1,49 @@
+package com.alertae.api.config;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.async.AsyncWebRequest;
+import org.springframework.web.context.request.async.CallableProcessingInterceptor;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.time.Duration;
+import java.util.concurrent.Callable;
+
+/**
+ * Tempo máximo da exportação em streaming. As demais requisições assíncronas seguem
+ * {@code spring.mvc.async.request-timeout} (ou o padrão do contêiner); a exportação usa
+ * {@code export.request-timeout}, aplicado antes de o processamento assíncrono começar.
+ */
+@Configuration
+public class ExportAsyncConfig implements WebMvcConfigurer {
+
+    /**
+     * Rota da exportação em streaming.
+     */
+    static final String EXPORT_PATH = "/api/v1/alerts/export";
+
+    /**
+     * Tempo máximo de uma exportação; valores negativos ou zero desativam o limite.
+     */
+    @Value("${export.request-timeout:-1}")
+    private Duration exportRequestTimeout;
+
+    @Override
+    public void configureAsyncSupport(AsyncSupportConfigurer configurer) {
+        long timeoutMillis = exportRequestTimeout.toMillis();
+        configurer.registerCallableInterceptors(new CallableProcessingInterceptor() {
+            @Override
+            public <T> void beforeConcurrentHandling(NativeWebRequest request, Callable<T> task) {
+                // Chamado com a própria requisição assíncrona, antes de o contêiner iniciar o processamento
+                HttpServletRequest servletRequest = request.getNativeRequest(HttpServletRequest.class);
+                if (request instanceof AsyncWebRequest asyncWebRequest && servletRequest != null
+                        && servletRequest.getRequestURI().substring(servletRequest.getContextPath().length()).equals(EXPORT_PATH)) {
+                    asyncWebRequest.setTimeout(timeoutMillis);
+                }
+            }
+        });
+    }
+}
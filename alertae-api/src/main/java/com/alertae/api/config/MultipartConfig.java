@@ -0,0 +1,52 @@
+package com.alertae.api.config;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.multipart.MaxUploadSizeExceededException;
+import org.springframework.web.multipart.MultipartException;
+import org.springframework.web.multipart.MultipartHttpServletRequest;
+import org.springframework.web.multipart.MultipartResolver;
+import org.springframework.web.multipart.support.StandardServletMultipartResolver;
+
+/**
+ * Limites de upload. Os limites do contêiner ({@code spring.servlet.multipart.*}) valem para toda a aplicação
+ * e são dimensionados para a importação em lote; as demais rotas multipart ficam limitadas a
+ * {@code multipart.default-max-request-size}, verificado antes da leitura do corpo.
+ */
+@Configuration
+public class MultipartConfig {
+
+    /**
+     * Rota que aceita os arquivos grandes da importação em lote.
+     */
+    static final String IMPORT_PATH = "/api/v1/alerts/imports";
+
+    @Value("${multipart.default-max-request-size:10MB}")
+    private DataSize defaultMaxRequestSize;
+
+    /**
+     * Substitui o resolvedor padrão do Spring Boot, aplicando o limite menor fora da rota de importação.
+     * @return resolvedor de requisições multipart
+     */
+    @Bean
+    public MultipartResolver multipartResolver() {
+        long limit = defaultMaxRequestSize.toBytes();
+        return new StandardServletMultipartResolver() {
+            @Override
+            public MultipartHttpServletRequest resolveMultipart(HttpServletRequest request) throws MultipartException {
+                String path = request.getRequestURI().substring(request.getContextPath().length());
+                if (!path.equals(IMPORT_PATH)) {
+                    long length = request.getContentLengthLong();
+                    // Sem Content-Length (chunked) não há como limitar antes do contêiner ler o corpo inteiro
+                    if (length < 0 || length > limit) {
+                        throw new MaxUploadSizeExceededException(limit);
+                    }
+                }
+                return super.resolveMultipart(request);
+            }
+        };
+    }
+}
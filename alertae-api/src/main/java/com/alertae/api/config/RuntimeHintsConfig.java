@@ -0,0 +1,46 @@
+package com.alertae.api.config;
+
+import com.alertae.api.cluster.ClusterMessage;
+import com.alertae.api.dto.AlertSearchResult;
+import com.alertae.api.dto.AlertStatsResult;
+import com.alertae.api.dto.HeatmapGrid;
+import com.alertae.api.dto.TileStats;
+import com.alertae.api.model.Alert;
+import com.alertae.api.model.ImportJob;
+import org.springframework.aot.hint.BindingReflectionHintsRegistrar;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.ImportRuntimeHints;
+
+/**
+ * Dicas de reflexão para o processamento AOT e a imagem nativa (perfil Maven {@code native}).
+ * O Gson lê e grava os campos de {@link Alert}, {@link ImportJob} e {@link ClusterMessage} por reflexão, e os controladores que
+ * retornam {@code ResponseEntity<?>} não expõem ao AOT os tipos serializados pelo Jackson.
+ */
+@Configuration
+@ImportRuntimeHints(RuntimeHintsConfig.AlertaeRuntimeHints.class)
+public class RuntimeHintsConfig {
+
+    /**
+     * Registra os modelos serializados por Gson e Jackson.
+     */
+    static class AlertaeRuntimeHints implements RuntimeHintsRegistrar {
+
+        private static final Class<?>[] GSON_TYPES = {Alert.class, ImportJob.class, ImportJob.Status.class,
+                ClusterMessage.class, ClusterMessage.Type.class};
+        private static final Class<?>[] RESPONSE_TYPES = {Alert.class, ImportJob.class, HeatmapGrid.class, TileStats.class,
+                AlertSearchResult.class, AlertStatsResult.class};
+
+        @Override
+        public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+            for (Class<?> type : GSON_TYPES) {
+                hints.reflection().registerType(type,
+                        MemberCategory.DECLARED_FIELDS,
+                        MemberCategory.INVOKE_DECLARED_CONSTRUCTORS);
+            }
+            new BindingReflectionHintsRegistrar().registerReflectionHints(hints.reflection(), RESPONSE_TYPES);
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package com.alertae.api.config;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Habilita as rotinas agendadas (expiração de alertas e manutenção do conjunto ativo)
+ * e as propriedades de expiração.
+ */
+@Configuration
+@EnableScheduling
+@EnableConfigurationProperties(AlertExpiryProperties.class)
+public class SchedulingConfig {
+}
@@ -0,0 +1,59 @@
+package com.alertae.api.config;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Registra no log o tempo de inicialização: quando o contexto fica pronto e quando a primeira
+ * requisição é respondida (time-to-first-request), ambos contados a partir do início da JVM.
+ */
+@Component
+public class StartupMetricsFilter extends OncePerRequestFilter {
+
+    private static final Logger log = LoggerFactory.getLogger(StartupMetricsFilter.class);
+
+    private final AtomicBoolean firstRequest = new AtomicBoolean(true);
+    private volatile long readyMillis = -1;
+
+    /**
+     * Registra o tempo até o contexto ficar pronto.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        readyMillis = uptimeMillis();
+        log.info("Aplicação pronta em {} ms após o início da JVM.", readyMillis);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        if (!firstRequest.get()) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            if (firstRequest.compareAndSet(true, false)) {
+                log.info("Primeira requisição ({}) respondida em {} ms após o início da JVM (contexto pronto em {} ms).",
+                        request.getRequestURI(), uptimeMillis(), readyMillis);
+            }
+        }
+    }
+
+    private static long uptimeMillis() {
+        return System.currentTimeMillis() - ManagementFactory.getRuntimeMXBean().getStartTime();
+    }
+}
@@ -2,13 +2,16 @@ package com.alertae.api.config;
 
 import io.swagger.v3.oas.models.OpenAPI;
 import io.swagger.v3.oas.models.info.Info;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
 /**
  * Configuração do Swagger/OpenAPI para documentação da API Alertae.
+ * Desativada junto com o springdoc ({@code springdoc.api-docs.enabled=false}, como no perfil prod).
  */
 @Configuration
+@ConditionalOnProperty(name = "springdoc.api-docs.enabled", havingValue = "true", matchIfMissing = true)
 public class SwaggerConfig {
 
     /**
@@ -1,20 +1,32 @@
 package com.alertae.api.controller;
 
 import com.alertae.api.dto.AddressRequest;
+import com.alertae.api.dto.AlertFilter;
 import com.alertae.api.model.Alert;
+import com.alertae.api.service.AlertExportService;
+import com.alertae.api.service.AlertHeatmapService;
 import com.alertae.api.service.AlertService;
+import com.alertae.api.service.AlertSearchService;
+import com.alertae.api.service.AlertStatsService;
+import com.alertae.api.service.AlertTileService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
+import java.util.zip.GZIPOutputStream;
 
 /**
  * Controlador REST para gerenciamento de alertas no sistema Alertae.
@@ -26,14 +38,31 @@ import java.util.List;
 public class AlertController {
 
     private final AlertService alertService;
+    private final AlertExportService alertExportService;
+    private final AlertHeatmapService alertHeatmapService;
+    private final AlertTileService alertTileService;
+    private final AlertSearchService alertSearchService;
+    private final AlertStatsService alertStatsService;
 
     /**
-     * Construtor para injeção do serviço de alertas.
+     * Construtor para injeção dos serviços de alertas.
      * @param alertService serviço responsável pelas operações de alerta
+     * @param alertExportService serviço responsável pela exportação de alertas
+     * @param alertHeatmapService serviço responsável pelas grades de densidade
+     * @param alertTileService serviço responsável pelos vector tiles do mapa
+     * @param alertSearchService serviço responsável pela busca textual
+     * @param alertStatsService serviço responsável pelas estatísticas de volume
      */
     @Autowired
-    public AlertController(AlertService alertService) {
+    public AlertController(AlertService alertService, AlertExportService alertExportService,
+                           AlertHeatmapService alertHeatmapService, AlertTileService alertTileService,
+                           AlertSearchService alertSearchService, AlertStatsService alertStatsService) {
         this.alertService = alertService;
+        this.alertExportService = alertExportService;
+        this.alertHeatmapService = alertHeatmapService;
+        this.alertTileService = alertTileService;
+        this.alertSearchService = alertSearchService;
+        this.alertStatsService = alertStatsService;
     }
 
     /**
@@ -63,19 +92,22 @@ public class AlertController {
     }
 
     /**
-     * Lista todos os alertas cadastrados.
+     * Lista os alertas ativos ou, com {@code all=true}, todos os alertas cadastrados.
+     * @param all se true, inclui alertas antigos e expirados
      * @return ResponseEntity com a lista de alertas e status HTTP correspondente
      */
     @GetMapping
-    @Operation(summary = "Lista todos os alertas",
-               description = "Retorna uma lista de todos os alertas cadastrados.")
+    @Operation(summary = "Lista os alertas",
+               description = "Retorna os alertas ativos (criados dentro da janela configurada e não expirados). "
+                       + "Use all=true para listar todo o histórico.")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Lista de alertas retornada com sucesso"),
             @ApiResponse(responseCode = "500", description = "Erro interno do servidor")
     })
-    public ResponseEntity<?> getAllAlerts() {
+    public ResponseEntity<?> getAllAlerts(@Parameter(description = "Incluir alertas antigos e expirados")
+                                          @RequestParam(defaultValue = "false") boolean all) {
         try {
-            List<Alert> alerts = alertService.getAllAlerts();
+            List<Alert> alerts = all ? alertService.getAllAlertsIncludingHistory() : alertService.getAllAlerts();
             return ResponseEntity.ok(alerts);
         } catch (IOException e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
@@ -83,6 +115,202 @@ public class AlertController {
         }
     }
 
+    /**
+     * Exporta os alertas em GeoJSON ou CSV, escrevendo cada registro diretamente na resposta.
+     * @param format formato de saída: geojson ou csv
+     * @param bbox área no formato minLon,minLat,maxLon,maxLat (opcional)
+     * @param from data/hora inicial ISO-8601 (opcional)
+     * @param to data/hora final ISO-8601 (opcional)
+     * @param gzip se true, comprime a resposta com gzip
+     * @return ResponseEntity com o corpo em streaming ou status de erro
+     */
+    @GetMapping("/export")
+    @Operation(summary = "Exporta alertas em GeoJSON ou CSV",
+               description = "Exporta os alertas em streaming, página a página, com filtros opcionais de área (bbox) e período (created_at).")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Exportação iniciada com sucesso"),
+            @ApiResponse(responseCode = "400", description = "Formato ou filtros inválidos")
+    })
+    public ResponseEntity<StreamingResponseBody> exportAlerts(
+            @Parameter(description = "Formato de saída (geojson ou csv)") @RequestParam(defaultValue = "geojson") String format,
+            @Parameter(description = "Área no formato minLon,minLat,maxLon,maxLat") @RequestParam(required = false) String bbox,
+            @Parameter(description = "Data/hora inicial (ISO-8601)") @RequestParam(required = false) String from,
+            @Parameter(description = "Data/hora final (ISO-8601)") @RequestParam(required = false) String to,
+            @Parameter(description = "Comprime a resposta com gzip") @RequestParam(defaultValue = "false") boolean gzip) {
+        AlertFilter filter;
+        try {
+            filter = AlertFilter.of(bbox, from, to);
+        } catch (IllegalArgumentException e) {
+            return streamingText(HttpStatus.BAD_REQUEST, e.getMessage());
+        }
+
+        boolean csv;
+        if ("csv".equalsIgnoreCase(format)) {
+            csv = true;
+        } else if ("geojson".equalsIgnoreCase(format)) {
+            csv = false;
+        } else {
+            return streamingText(HttpStatus.BAD_REQUEST, "Formato inválido: " + format + ". Use geojson ou csv.");
+        }
+
+        StreamingResponseBody body = outputStream -> {
+            GZIPOutputStream gzipStream = gzip ? new GZIPOutputStream(outputStream, 8192) : null;
+            if (csv) {
+                alertExportService.writeCsv(filter, gzipStream != null ? gzipStream : outputStream);
+            } else {
+                alertExportService.writeGeoJson(filter, gzipStream != null ? gzipStream : outputStream);
+            }
+            if (gzipStream != null) {
+                gzipStream.finish();
+            }
+        };
+
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(csv ? new MediaType("text", "csv", StandardCharsets.UTF_8)
+                : new MediaType("application", "geo+json"));
+        headers.setContentDisposition(ContentDisposition.attachment()
+                .filename(csv ? "alerts.csv" : "alerts.geojson")
+                .build());
+        if (gzip) {
+            headers.set(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        return ResponseEntity.ok().headers(headers).body(body);
+    }
+
+    /**
+     * Busca alertas por palavras do título e da mensagem.
+     * @param q texto da busca
+     * @param bbox área no formato minLon,minLat,maxLon,maxLat (opcional)
+     * @param from data/hora inicial ISO-8601 (opcional)
+     * @param to data/hora final ISO-8601 (opcional)
+     * @param limit quantidade máxima de resultados
+     * @return ResponseEntity com os resultados ordenados por relevância ou status de erro
+     */
+    @GetMapping("/search")
+    @Operation(summary = "Busca alertas por texto",
+               description = "Busca no título e na mensagem dos alertas, sem diferenciar acentos, maiúsculas, plural e gênero "
+                       + "(\"enchentes\" encontra \"Enchente\"). Os resultados são ordenados por relevância e podem ser "
+                       + "filtrados por área e período.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Busca realizada com sucesso"),
+            @ApiResponse(responseCode = "400", description = "Busca sem termos válidos ou filtros inválidos"),
+            @ApiResponse(responseCode = "500", description = "Erro interno do servidor")
+    })
+    public ResponseEntity<?> searchAlerts(
+            @Parameter(description = "Texto da busca", example = "enchente") @RequestParam String q,
+            @Parameter(description = "Área no formato minLon,minLat,maxLon,maxLat") @RequestParam(required = false) String bbox,
+            @Parameter(description = "Data/hora inicial (ISO-8601)") @RequestParam(required = false) String from,
+            @Parameter(description = "Data/hora final (ISO-8601)") @RequestParam(required = false) String to,
+            @Parameter(description = "Quantidade máxima de resultados") @RequestParam(defaultValue = "20") int limit) {
+        try {
+            return ResponseEntity.ok(alertSearchService.search(q, AlertFilter.of(bbox, from, to), limit));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(e.getMessage());
+        } catch (IOException e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body("Erro ao comunicar com o Supabase: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Retorna o volume de alertas por intervalo de tempo, agrupado por cidade, região ou célula geohash.
+     * @param groupBy agrupamento: none, city, region ou geohash
+     * @param resolution resolução dos intervalos: minute, hour ou day
+     * @param from data/hora inicial ISO-8601 (opcional)
+     * @param to data/hora final ISO-8601 (opcional)
+     * @param limit quantidade máxima de grupos
+     * @return ResponseEntity com as contagens ou status de erro
+     */
+    @GetMapping("/stats")
+    @Operation(summary = "Obtém o volume de alertas por período",
+               description = "Retorna a quantidade de alertas criados por minuto, hora ou dia, no total ou por cidade, região (UF) "
+                       + "ou célula geohash, ordenando os grupos pelo total no período. As contagens são mantidas em memória à medida "
+                       + "que os alertas são criados; cada resolução tem retenção limitada (stats.*-buckets).")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Estatísticas retornadas com sucesso"),
+            @ApiResponse(responseCode = "400", description = "Parâmetros inválidos")
+    })
+    public ResponseEntity<?> getStats(
+            @Parameter(description = "Agrupamento: none, city, region ou geohash") @RequestParam(defaultValue = "none") String groupBy,
+            @Parameter(description = "Resolução: minute, hour ou day") @RequestParam(defaultValue = "hour") String resolution,
+            @Parameter(description = "Data/hora inicial (ISO-8601)") @RequestParam(required = false) String from,
+            @Parameter(description = "Data/hora final, exclusiva (ISO-8601)") @RequestParam(required = false) String to,
+            @Parameter(description = "Quantidade máxima de grupos") @RequestParam(defaultValue = "20") int limit) {
+        try {
+            return ResponseEntity.ok(alertStatsService.getStats(groupBy, resolution, from, to, limit));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(e.getMessage());
+        }
+    }
+
+    /**
+     * Retorna a grade de densidade de alertas para a área visível do mapa.
+     * @param bbox área no formato minLon,minLat,maxLon,maxLat
+     * @param zoom zoom atual do mapa
+     * @param from data/hora inicial ISO-8601 (opcional)
+     * @param to data/hora final ISO-8601 (opcional)
+     * @return ResponseEntity com a grade de densidade ou status de erro
+     */
+    @GetMapping("/heatmap")
+    @Operation(summary = "Obtém a grade de densidade de alertas",
+               description = "Retorna contagens de alertas por célula para a área e o período informados, somando grades pré-calculadas. "
+                       + "As contagens são codificadas em run-length (pares [valor, repetições]); a resolução temporal é diária.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Grade retornada com sucesso"),
+            @ApiResponse(responseCode = "400", description = "Parâmetros inválidos ou área grande demais para o zoom")
+    })
+    public ResponseEntity<?> getHeatmap(
+            @Parameter(description = "Área no formato minLon,minLat,maxLon,maxLat") @RequestParam String bbox,
+            @Parameter(description = "Zoom do mapa") @RequestParam int zoom,
+            @Parameter(description = "Data/hora inicial (ISO-8601)") @RequestParam(required = false) String from,
+            @Parameter(description = "Data/hora final (ISO-8601)") @RequestParam(required = false) String to) {
+        try {
+            return ResponseEntity.ok(alertHeatmapService.getHeatmap(AlertFilter.of(bbox, from, to), zoom));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(e.getMessage());
+        }
+    }
+
+    /**
+     * Retorna um Mapbox Vector Tile com os alertas da área do tile.
+     * @param z zoom
+     * @param x índice X do tile
+     * @param y índice Y do tile
+     * @return ResponseEntity com o tile (application/vnd.mapbox-vector-tile) ou status de erro
+     */
+    @GetMapping("/tiles/{z}/{x}/{y}.mvt")
+    @Operation(summary = "Obtém um vector tile de alertas",
+               description = "Retorna um Mapbox Vector Tile (camada 'alerts') com os alertas do tile z/x/y. "
+                       + "Tiles densos trazem pontos agrupados com a propriedade 'count'.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Tile retornado com sucesso (pode ser vazio)"),
+            @ApiResponse(responseCode = "400", description = "Coordenadas de tile inválidas")
+    })
+    public ResponseEntity<?> getTile(@Parameter(description = "Zoom") @PathVariable int z,
+                                     @Parameter(description = "Índice X do tile") @PathVariable int x,
+                                     @Parameter(description = "Índice Y do tile") @PathVariable int y) {
+        try {
+            byte[] tile = alertTileService.getTile(z, x, y);
+            return ResponseEntity.ok()
+                    .contentType(MediaType.parseMediaType("application/vnd.mapbox-vector-tile"))
+                    .body(tile);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(e.getMessage());
+        }
+    }
+
+    /**
+     * Retorna as métricas do cache e da geração dos vector tiles.
+     * @return ResponseEntity com as métricas
+     */
+    @GetMapping("/tiles/stats")
+    @Operation(summary = "Métricas dos vector tiles",
+               description = "Retorna a taxa de acerto do cache e a latência média/máxima de geração dos tiles.")
+    @ApiResponse(responseCode = "200", description = "Métricas retornadas com sucesso")
+    public ResponseEntity<?> getTileStats() {
+        return ResponseEntity.ok(alertTileService.getStats());
+    }
+
     /**
      * Busca um alerta pelo seu ID.
      * @param id identificador do alerta
@@ -159,4 +387,16 @@ public class AlertController {
                     .body("Erro ao comunicar com o Supabase: " + e.getMessage());
         }
     }
+
+    /**
+     * Monta uma resposta textual simples para endpoints que retornam corpo em streaming.
+     * @param status status HTTP da resposta
+     * @param message mensagem a ser enviada no corpo
+     * @return ResponseEntity com a mensagem em text/plain
+     */
+    private ResponseEntity<StreamingResponseBody> streamingText(HttpStatus status, String message) {
+        return ResponseEntity.status(status)
+                .contentType(new MediaType("text", "plain", StandardCharsets.UTF_8))
+                .body(outputStream -> outputStream.write(message.getBytes(StandardCharsets.UTF_8)));
+    }
 }
\ No newline at end of file
@@ -0,0 +1,128 @@
+package com.alertae.api.controller;
+
+import com.alertae.api.model.ImportJob;
+import com.alertae.api.service.AlertImportService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+
+/**
+ * Controlador REST para importação em lote de alertas a partir de arquivos CSV ou GeoJSON.
+ * Fornece endpoints para enviar um arquivo, acompanhar o progresso e retomar jobs com falha.
+ */
+@RestController
+@RequestMapping("/api/v1/alerts/imports")
+@Tag(name = "Alert Imports", description = "Importação em lote de alertas do Alertae")
+public class AlertImportController {
+
+    private final AlertImportService alertImportService;
+
+    /**
+     * Construtor para injeção do serviço de importação.
+     * @param alertImportService serviço responsável pelos jobs de importação
+     */
+    @Autowired
+    public AlertImportController(AlertImportService alertImportService) {
+        this.alertImportService = alertImportService;
+    }
+
+    /**
+     * Envia um arquivo para importação em lote. O processamento é assíncrono.
+     * @param file arquivo CSV ou GeoJSON
+     * @param format formato do arquivo (opcional, inferido pela extensão)
+     * @return ResponseEntity com o job criado e status HTTP correspondente
+     */
+    @PostMapping(consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    @Operation(summary = "Inicia uma importação em lote",
+               description = "Recebe um arquivo CSV (colunas title, message, email_notification, street, neighborhood, city, state, country, lat, long) "
+                       + "ou GeoJSON e importa os alertas em segundo plano. Linhas com lat/long não são geocodificadas.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "202", description = "Importação agendada com sucesso"),
+            @ApiResponse(responseCode = "400", description = "Arquivo ou formato inválido"),
+            @ApiResponse(responseCode = "500", description = "Erro interno do servidor")
+    })
+    public ResponseEntity<?> submitImport(@Parameter(description = "Arquivo CSV ou GeoJSON") @RequestParam("file") MultipartFile file,
+                                          @Parameter(description = "Formato do arquivo (csv ou geojson)") @RequestParam(required = false) String format) {
+        if (file.isEmpty()) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body("Arquivo de importação vazio.");
+        }
+        try {
+            ImportJob job = alertImportService.submit(file, format);
+            return ResponseEntity.status(HttpStatus.ACCEPTED).body(job);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(e.getMessage());
+        } catch (IOException e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body("Erro ao gravar o arquivo de importação: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Lista os jobs de importação.
+     * @return ResponseEntity com a lista de jobs
+     */
+    @GetMapping
+    @Operation(summary = "Lista as importações",
+               description = "Retorna todos os jobs de importação conhecidos, do mais recente para o mais antigo.")
+    @ApiResponse(responseCode = "200", description = "Lista de jobs retornada com sucesso")
+    public ResponseEntity<?> getImports() {
+        return ResponseEntity.ok(alertImportService.getJobs());
+    }
+
+    /**
+     * Retorna o progresso de um job de importação.
+     * @param id identificador do job
+     * @return ResponseEntity com o job ou status de não encontrado
+     */
+    @GetMapping("/{id}")
+    @Operation(summary = "Obtém o progresso de uma importação",
+               description = "Retorna contadores de linhas processadas, inseridas, geocodificadas e com falha, além da vazão (linhas/s).")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Job encontrado com sucesso"),
+            @ApiResponse(responseCode = "404", description = "Job não encontrado")
+    })
+    public ResponseEntity<?> getImport(@Parameter(description = "ID do job") @PathVariable String id) {
+        ImportJob job = alertImportService.getJob(id);
+        if (job != null) {
+            return ResponseEntity.ok(job);
+        } else {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).build();
+        }
+    }
+
+    /**
+     * Retoma um job de importação que falhou, a partir do último checkpoint.
+     * @param id identificador do job
+     * @return ResponseEntity com o job reagendado ou status de erro
+     */
+    @PostMapping("/{id}/resume")
+    @Operation(summary = "Retoma uma importação com falha",
+               description = "Reagenda um job com falha; as linhas já processadas segundo o checkpoint são ignoradas.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "202", description = "Importação reagendada com sucesso"),
+            @ApiResponse(responseCode = "404", description = "Job não encontrado"),
+            @ApiResponse(responseCode = "409", description = "Job não está com falha")
+    })
+    public ResponseEntity<?> resumeImport(@Parameter(description = "ID do job") @PathVariable String id) {
+        try {
+            ImportJob job = alertImportService.resume(id);
+            if (job != null) {
+                return ResponseEntity.status(HttpStatus.ACCEPTED).body(job);
+            } else {
+                return ResponseEntity.status(HttpStatus.NOT_FOUND).build();
+            }
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(e.getMessage());
+        }
+    }
+}
@@ -61,4 +61,16 @@ public class AddressRequest {
      */
     @Schema(description = "País", example = "Brasil", defaultValue = "Brasil")
     private String country = "Brasil";
+
+    /**
+     * Categoria do alerta (opcional), usada para definir o tempo de expiração.
+     */
+    @Schema(description = "Categoria do alerta (define o tempo de expiração padrão)", example = "enchente")
+    private String category;
+
+    /**
+     * Data e hora de expiração (opcional). Se ausente, é calculada pelo tempo de expiração da categoria.
+     */
+    @Schema(description = "Data/hora de expiração (ISO-8601). Se ausente, usa o tempo de expiração da categoria", example = "2024-06-10T00:00:00Z")
+    private String expiresAt;
 }
\ No newline at end of file
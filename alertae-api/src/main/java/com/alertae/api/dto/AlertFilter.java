@@ -0,0 +1,93 @@
+package com.alertae.api.dto;
+
+import com.alertae.api.util.Timestamps;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+/**
+ * Filtros opcionais de área (bounding box) e período aplicados às consultas de alertas.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AlertFilter {
+
+    /**
+     * Longitude mínima (oeste) da área de interesse.
+     */
+    private Double minLon;
+
+    /**
+     * Latitude mínima (sul) da área de interesse.
+     */
+    private Double minLat;
+
+    /**
+     * Longitude máxima (leste) da área de interesse.
+     */
+    private Double maxLon;
+
+    /**
+     * Latitude máxima (norte) da área de interesse.
+     */
+    private Double maxLat;
+
+    /**
+     * Data/hora inicial (inclusiva) no formato ISO-8601, comparada com created_at.
+     */
+    private String from;
+
+    /**
+     * Data/hora final (exclusiva) no formato ISO-8601, comparada com created_at.
+     */
+    private String to;
+
+    /**
+     * Monta um filtro a partir dos parâmetros de requisição.
+     * @param bbox área no formato "minLon,minLat,maxLon,maxLat" (opcional)
+     * @param from data/hora inicial ISO-8601 (opcional)
+     * @param to data/hora final ISO-8601 (opcional)
+     * @return filtro correspondente
+     * @throws IllegalArgumentException se o bbox ou as datas estiverem mal formatados, ou se from não for anterior a to
+     */
+    public static AlertFilter of(String bbox, String from, String to) {
+        AlertFilter filter = new AlertFilter();
+        if (bbox != null && !bbox.isBlank()) {
+            String[] parts = bbox.split(",");
+            if (parts.length != 4) {
+                throw new IllegalArgumentException("Parâmetro bbox inválido. Use o formato minLon,minLat,maxLon,maxLat.");
+            }
+            try {
+                filter.setMinLon(Double.parseDouble(parts[0].trim()));
+                filter.setMinLat(Double.parseDouble(parts[1].trim()));
+                filter.setMaxLon(Double.parseDouble(parts[2].trim()));
+                filter.setMaxLat(Double.parseDouble(parts[3].trim()));
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Parâmetro bbox inválido: " + bbox);
+            }
+            if (filter.getMinLon() > filter.getMaxLon() || filter.getMinLat() > filter.getMaxLat()) {
+                throw new IllegalArgumentException("Parâmetro bbox inválido: valores mínimos maiores que os máximos.");
+            }
+        }
+        // As datas são validadas e normalizadas para UTC antes de chegarem ao Supabase
+        Long fromMillis = Timestamps.parseEpochMillis(from);
+        Long toMillis = Timestamps.parseEpochMillis(to);
+        if (fromMillis != null && toMillis != null && fromMillis >= toMillis) {
+            throw new IllegalArgumentException("Período inválido: from deve ser anterior a to.");
+        }
+        filter.setFrom(fromMillis == null ? null : Instant.ofEpochMilli(fromMillis).toString());
+        filter.setTo(toMillis == null ? null : Instant.ofEpochMilli(toMillis).toString());
+        return filter;
+    }
+
+    /**
+     * Indica se o filtro restringe a área geográfica.
+     * @return true se um bounding box foi informado
+     */
+    public boolean hasBbox() {
+        return minLon != null && minLat != null && maxLon != null && maxLat != null;
+    }
+}
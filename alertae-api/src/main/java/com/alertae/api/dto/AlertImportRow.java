@@ -0,0 +1,33 @@
+package com.alertae.api.dto;
+
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+
+/**
+ * Linha de um arquivo de importação em lote de alertas.
+ * Além dos dados de endereço, pode trazer coordenadas já conhecidas, dispensando a geocodificação.
+ */
+@Data
+@NoArgsConstructor
+@EqualsAndHashCode(callSuper = true)
+public class AlertImportRow extends AddressRequest {
+
+    /**
+     * Latitude já conhecida (opcional).
+     */
+    private Double lat;
+
+    /**
+     * Longitude já conhecida (opcional).
+     */
+    private Double longitude;
+
+    /**
+     * Indica se a linha já possui coordenadas válidas.
+     * @return true se latitude e longitude foram informadas
+     */
+    public boolean hasCoordinates() {
+        return lat != null && longitude != null;
+    }
+}
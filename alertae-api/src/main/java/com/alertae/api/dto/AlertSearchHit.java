@@ -0,0 +1,23 @@
+package com.alertae.api.dto;
+
+import com.alertae.api.model.Alert;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Alerta encontrado pela busca textual, com a pontuação de relevância.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Resultado da busca textual")
+public class AlertSearchHit {
+
+    @Schema(description = "Pontuação de relevância (BM25); maior é mais relevante")
+    private double score;
+
+    @Schema(description = "Alerta encontrado")
+    private Alert alert;
+}
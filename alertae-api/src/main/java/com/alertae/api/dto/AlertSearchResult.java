@@ -0,0 +1,33 @@
+package com.alertae.api.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Resposta da busca textual de alertas.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Resultados da busca textual de alertas, do mais para o menos relevante")
+public class AlertSearchResult {
+
+    @Schema(description = "Termos efetivamente buscados, após a normalização", example = "[\"enchent\"]")
+    private List<String> terms;
+
+    @Schema(description = "Quantidade total de alertas encontrados (antes do limite)")
+    private int total;
+
+    @Schema(description = "Indica se o índice já contém todos os alertas (carga inicial concluída)")
+    private boolean complete;
+
+    @Schema(description = "Tempo de busca no índice, em milissegundos")
+    private double tookMillis;
+
+    @Schema(description = "Alertas encontrados, ordenados por relevância")
+    private List<AlertSearchHit> results;
+}
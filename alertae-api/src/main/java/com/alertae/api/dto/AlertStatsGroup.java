@@ -0,0 +1,28 @@
+package com.alertae.api.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Série de contagens de alertas de um grupo (cidade, região ou célula geohash).
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Contagens de alertas de um grupo por intervalo de tempo")
+public class AlertStatsGroup {
+
+    @Schema(description = "Chave do grupo: cidade/UF, UF, geohash ou \"total\"", example = "campinas/sp")
+    private String key;
+
+    @Schema(description = "Nome do grupo para exibição", example = "Campinas - SP")
+    private String label;
+
+    @Schema(description = "Total de alertas do grupo no período")
+    private long total;
+
+    @Schema(description = "Contagem por intervalo, a partir de from (um valor por minuto, hora ou dia)")
+    private long[] counts;
+}
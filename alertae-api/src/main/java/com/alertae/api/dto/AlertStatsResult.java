@@ -0,0 +1,42 @@
+package com.alertae.api.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Resposta das estatísticas de volume de alertas.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Volume de alertas por intervalo de tempo, agrupado por cidade, região ou célula geohash")
+public class AlertStatsResult {
+
+    @Schema(description = "Agrupamento: none, city, region ou geohash", example = "city")
+    private String groupBy;
+
+    @Schema(description = "Resolução dos intervalos: minute, hour ou day", example = "hour")
+    private String resolution;
+
+    @Schema(description = "Início do primeiro intervalo (ISO-8601, UTC)")
+    private String from;
+
+    @Schema(description = "Fim do último intervalo, exclusivo (ISO-8601, UTC)")
+    private String to;
+
+    @Schema(description = "Indica se todo o período pedido está dentro da retenção da resolução")
+    private boolean complete;
+
+    @Schema(description = "Total de alertas no período, somando todos os grupos")
+    private long total;
+
+    @Schema(description = "Quantidade de grupos com alertas no período (antes do limite)")
+    private int totalGroups;
+
+    @Schema(description = "Grupos com mais alertas no período, em ordem decrescente")
+    private List<AlertStatsGroup> groups;
+}
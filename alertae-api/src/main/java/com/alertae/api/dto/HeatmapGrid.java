@@ -0,0 +1,49 @@
+package com.alertae.api.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Grade de densidade de alertas para uma área do mapa.
+ * As células são quadrados da grade Web Mercator no zoom {@code cellZoom}; a célula (0,0) da grade
+ * corresponde à célula global ({@code x}, {@code y}). As contagens são enviadas em run-length,
+ * linha a linha (de norte para sul, de oeste para leste), como pares [valor, repetições].
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Grade de densidade de alertas codificada em run-length")
+public class HeatmapGrid {
+
+    @Schema(description = "Zoom solicitado")
+    private int zoom;
+
+    @Schema(description = "Zoom da grade de células (cada célula é um tile deste zoom)")
+    private int cellZoom;
+
+    @Schema(description = "Índice X global da primeira coluna")
+    private int x;
+
+    @Schema(description = "Índice Y global da primeira linha")
+    private int y;
+
+    @Schema(description = "Quantidade de colunas")
+    private int width;
+
+    @Schema(description = "Quantidade de linhas")
+    private int height;
+
+    @Schema(description = "Limites da grade: [oeste, sul, leste, norte]")
+    private double[] bounds;
+
+    @Schema(description = "Soma de todas as células")
+    private long total;
+
+    @Schema(description = "Maior contagem em uma célula")
+    private int max;
+
+    @Schema(description = "Contagens em run-length: pares [valor, repetições]")
+    private int[] rle;
+}
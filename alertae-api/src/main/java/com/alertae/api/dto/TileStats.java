@@ -0,0 +1,40 @@
+package com.alertae.api.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Métricas do serviço de vector tiles: uso do cache e latência de geração.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Métricas de cache e geração dos vector tiles")
+public class TileStats {
+
+    @Schema(description = "Total de tiles solicitados")
+    private long requests;
+
+    @Schema(description = "Tiles servidos a partir do cache")
+    private long cacheHits;
+
+    @Schema(description = "Tiles gerados (cache miss)")
+    private long cacheMisses;
+
+    @Schema(description = "Proporção de acertos no cache (0 a 1)")
+    private double hitRate;
+
+    @Schema(description = "Tempo médio de geração de um tile, em milissegundos")
+    private double avgGenerationMillis;
+
+    @Schema(description = "Maior tempo de geração de um tile, em milissegundos")
+    private double maxGenerationMillis;
+
+    @Schema(description = "Tiles atualmente em cache")
+    private int cachedTiles;
+
+    @Schema(description = "Alertas no índice espacial")
+    private int indexedAlerts;
+}
@@ -50,4 +50,16 @@ public class Alert {
      */
     @SerializedName("created_at")
     private String createdAt;
+
+    /**
+     * Categoria do alerta (ex.: enchente, deslizamento), usada para definir o tempo de expiração.
+     */
+    private String category;
+
+    /**
+     * Data e hora de expiração do alerta; após esse instante o alerta deixa de ser ativo
+     * e é arquivado ou excluído pela rotina de expiração. Nulo indica que o alerta não expira.
+     */
+    @SerializedName("expires_at")
+    private String expiresAt;
 }
\ No newline at end of file
@@ -0,0 +1,90 @@
+package com.alertae.api.model;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Representa um job de importação em lote de alertas e o seu progresso.
+ * O estado é persistido em disco a cada lote inserido (checkpoint), permitindo retomar o job após reinício.
+ */
+@Data
+@NoArgsConstructor
+public class ImportJob {
+
+    /**
+     * Situação de um job de importação.
+     */
+    public enum Status {
+        PENDING, RUNNING, COMPLETED, FAILED
+    }
+
+    /**
+     * Identificador único do job.
+     */
+    private String id;
+
+    /**
+     * Nome original do arquivo enviado.
+     */
+    private String fileName;
+
+    /**
+     * Formato do arquivo: csv ou geojson.
+     */
+    private String format;
+
+    /**
+     * Situação atual do job.
+     */
+    private Status status;
+
+    /**
+     * Quantidade de linhas já processadas (checkpoint); na retomada, essas linhas são ignoradas.
+     */
+    private long rowsProcessed;
+
+    /**
+     * Quantidade de alertas inseridos no Supabase.
+     */
+    private long rowsInserted;
+
+    /**
+     * Quantidade de linhas que já traziam latitude/longitude e dispensaram geocodificação.
+     */
+    private long rowsWithCoordinates;
+
+    /**
+     * Quantidade de linhas geocodificadas com sucesso.
+     */
+    private long rowsGeocoded;
+
+    /**
+     * Quantidade de linhas descartadas por falha de geocodificação.
+     */
+    private long rowsFailed;
+
+    /**
+     * Vazão da execução atual, em linhas por segundo.
+     */
+    private double rowsPerSecond;
+
+    /**
+     * Data e hora de criação do job.
+     */
+    private String createdAt;
+
+    /**
+     * Data e hora de início da primeira execução.
+     */
+    private String startedAt;
+
+    /**
+     * Data e hora de término.
+     */
+    private String finishedAt;
+
+    /**
+     * Mensagem de erro da última falha, se houver.
+     */
+    private String errorMessage;
+}
@@ -1,14 +1,21 @@
 package com.alertae.api.repository;
 
+import com.alertae.api.dto.AlertFilter;
 import com.alertae.api.model.Alert;
 import com.google.gson.Gson;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
 import okhttp3.*;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Repository;
 
 import java.io.IOException;
+import java.lang.reflect.Type;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Objects;
+import java.util.Set;
+import java.util.StringJoiner;
 import com.google.gson.reflect.TypeToken;
 
 /**
@@ -18,6 +25,26 @@ import com.google.gson.reflect.TypeToken;
 @Repository
 public class SupabaseAlertRepository {
 
+    /**
+     * Tipo List&lt;Alert&gt; das respostas do Supabase, criado sem subclasse anônima de TypeToken
+     * para funcionar também na imagem nativa.
+     */
+    private static final Type ALERT_LIST_TYPE = TypeToken.getParameterized(List.class, Alert.class).getType();
+
+    /**
+     * Colunas que as inserções em lote podem gravar. O Gson omite os campos nulos, então os objetos de um mesmo
+     * lote podem ter chaves diferentes, o que o PostgREST rejeita (PGRST102) a menos que as colunas sejam informadas
+     * em {@code ?columns=}; as colunas ausentes de um objeto são gravadas como nulas. Só são informadas as colunas
+     * presentes em algum objeto do lote, para que {@code category} e {@code expires_at} não sejam exigidas de
+     * tabelas sem a migração da expiração quando o lote não as usa.
+     */
+    static final String INSERT_COLUMNS = "title,message,email_notification,lat,long,category,expires_at";
+
+    /**
+     * Colunas gravadas no arquivamento, que preserva também o id e a data de criação.
+     */
+    static final String ARCHIVE_COLUMNS = "id,created_at," + INSERT_COLUMNS;
+
     private final OkHttpClient httpClient;
     private final Gson gson;
 
@@ -63,7 +90,7 @@ public class SupabaseAlertRepository {
                 throw new IOException("Falha ao criar alerta: " + errorBody);
             }
             String responseBody = Objects.requireNonNull(response.body()).string();
-            List<Alert> createdAlerts = gson.fromJson(responseBody, new TypeToken<List<Alert>>(){}.getType());
+            List<Alert> createdAlerts = gson.fromJson(responseBody, ALERT_LIST_TYPE);
             if (createdAlerts != null && !createdAlerts.isEmpty()) {
                 return createdAlerts.get(0);
             }
@@ -71,6 +98,62 @@ public class SupabaseAlertRepository {
         }
     }
 
+    /**
+     * Cria vários alertas no Supabase em uma única requisição (inserção em lote).
+     * @param alerts lista de alertas a serem criados
+     * @return alertas criados com dados retornados pelo Supabase
+     * @throws IOException em caso de erro de comunicação ou resposta inválida
+     */
+    public List<Alert> createAlerts(List<Alert> alerts) throws IOException {
+        if (alerts.isEmpty()) {
+            return List.of();
+        }
+        JsonArray rows = gson.toJsonTree(alerts).getAsJsonArray();
+
+        RequestBody body = RequestBody.create(gson.toJson(rows), MediaType.parse("application/json"));
+
+        HttpUrl url = Objects.requireNonNull(HttpUrl.parse(supabaseUrl + "/rest/v1/alerts")).newBuilder()
+                .addQueryParameter("columns", insertColumns(rows))
+                .build();
+        Request request = new Request.Builder()
+                .url(url)
+                .addHeader("apikey", supabaseAnonKey)
+                .addHeader("Authorization", "Bearer " + supabaseAnonKey)
+                .addHeader("Content-Type", "application/json")
+                .addHeader("Prefer", "return=representation")
+                .post(body)
+                .build();
+
+        try (Response response = httpClient.newCall(request).execute()) {
+            if (!response.isSuccessful()) {
+                String errorBody = Objects.requireNonNull(response.body()).string();
+                throw new IOException("Falha ao criar alertas em lote: " + errorBody);
+            }
+            String responseBody = Objects.requireNonNull(response.body()).string();
+            List<Alert> createdAlerts = gson.fromJson(responseBody, ALERT_LIST_TYPE);
+            return createdAlerts != null ? createdAlerts : List.of();
+        }
+    }
+
+    /**
+     * Colunas de {@link #INSERT_COLUMNS} presentes em ao menos um objeto do lote, na ordem de {@link #INSERT_COLUMNS}.
+     * @param rows objetos serializados do lote
+     * @return valor do parâmetro {@code columns}
+     */
+    static String insertColumns(JsonArray rows) {
+        Set<String> present = new HashSet<>();
+        for (JsonElement row : rows) {
+            present.addAll(row.getAsJsonObject().keySet());
+        }
+        StringJoiner columns = new StringJoiner(",");
+        for (String column : INSERT_COLUMNS.split(",")) {
+            if (present.contains(column)) {
+                columns.add(column);
+            }
+        }
+        return columns.toString();
+    }
+
     /**
      * Busca todos os alertas cadastrados no Supabase.
      * @return lista de alertas
@@ -89,7 +172,56 @@ public class SupabaseAlertRepository {
                 throw new IOException("Falha ao buscar alertas: " + Objects.requireNonNull(response.body()).string());
             }
             String responseBody = Objects.requireNonNull(response.body()).string();
-            return gson.fromJson(responseBody, new TypeToken<List<Alert>>(){}.getType());
+            return gson.fromJson(responseBody, ALERT_LIST_TYPE);
+        }
+    }
+
+    /**
+     * Busca uma página de alertas ordenada por ID, aplicando os filtros de área e período no próprio Supabase.
+     * A paginação é feita por chave (id > afterId), mantendo o custo de cada página constante
+     * independentemente da posição no conjunto de dados.
+     * @param filter filtros de bounding box e período (opcional)
+     * @param afterId último ID da página anterior, ou null para a primeira página
+     * @param limit quantidade máxima de alertas na página
+     * @return lista de alertas da página (vazia quando não há mais resultados)
+     * @throws IOException em caso de erro de comunicação ou resposta inválida
+     */
+    public List<Alert> getAlertsPage(AlertFilter filter, String afterId, int limit) throws IOException {
+        HttpUrl.Builder urlBuilder = HttpUrl.parse(supabaseUrl + "/rest/v1/alerts").newBuilder();
+        urlBuilder.addQueryParameter("select", "*");
+        urlBuilder.addQueryParameter("order", "id.asc");
+        urlBuilder.addQueryParameter("limit", String.valueOf(limit));
+        if (afterId != null) {
+            urlBuilder.addQueryParameter("id", "gt." + afterId);
+        }
+        if (filter != null) {
+            if (filter.hasBbox()) {
+                urlBuilder.addQueryParameter("lat", "gte." + filter.getMinLat());
+                urlBuilder.addQueryParameter("lat", "lte." + filter.getMaxLat());
+                urlBuilder.addQueryParameter("long", "gte." + filter.getMinLon());
+                urlBuilder.addQueryParameter("long", "lte." + filter.getMaxLon());
+            }
+            if (filter.getFrom() != null) {
+                urlBuilder.addQueryParameter("created_at", "gte." + filter.getFrom());
+            }
+            if (filter.getTo() != null) {
+                urlBuilder.addQueryParameter("created_at", "lt." + filter.getTo());
+            }
+        }
+
+        Request request = new Request.Builder()
+                .url(urlBuilder.build())
+                .addHeader("apikey", supabaseAnonKey)
+                .addHeader("Authorization", "Bearer " + supabaseAnonKey)
+                .get()
+                .build();
+
+        try (Response response = httpClient.newCall(request).execute()) {
+            if (!response.isSuccessful()) {
+                throw new IOException("Falha ao buscar página de alertas: " + Objects.requireNonNull(response.body()).string());
+            }
+            List<Alert> alerts = gson.fromJson(Objects.requireNonNull(response.body()).charStream(), ALERT_LIST_TYPE);
+            return alerts != null ? alerts : List.of();
         }
     }
 
@@ -112,7 +244,7 @@ public class SupabaseAlertRepository {
                 throw new IOException("Falha ao buscar alerta por ID: " + Objects.requireNonNull(response.body()).string());
             }
             String responseBody = Objects.requireNonNull(response.body()).string();
-            List<Alert> alerts = gson.fromJson(responseBody, new TypeToken<List<Alert>>(){}.getType());
+            List<Alert> alerts = gson.fromJson(responseBody, ALERT_LIST_TYPE);
             if (alerts != null && !alerts.isEmpty()) {
                 return alerts.get(0);
             }
@@ -147,7 +279,7 @@ public class SupabaseAlertRepository {
                 throw new IOException("Falha ao atualizar alerta: " + errorBody);
             }
             String responseBody = Objects.requireNonNull(response.body()).string();
-            List<Alert> updatedAlerts = gson.fromJson(responseBody, new TypeToken<List<Alert>>(){}.getType());
+            List<Alert> updatedAlerts = gson.fromJson(responseBody, ALERT_LIST_TYPE);
             if (updatedAlerts != null && !updatedAlerts.isEmpty()) {
                 return updatedAlerts.get(0);
             }
@@ -155,6 +287,126 @@ public class SupabaseAlertRepository {
         }
     }
 
+    /**
+     * Busca os alertas já expirados (expires_at anterior ao instante informado), dos mais antigos para os mais recentes.
+     * @param now instante de referência no formato ISO-8601
+     * @param limit quantidade máxima de alertas
+     * @return lista de alertas expirados
+     * @throws IOException em caso de erro de comunicação ou resposta inválida
+     */
+    public List<Alert> getExpiredAlerts(String now, int limit) throws IOException {
+        HttpUrl url = HttpUrl.parse(supabaseUrl + "/rest/v1/alerts").newBuilder()
+                .addQueryParameter("select", "*")
+                .addQueryParameter("expires_at", "lt." + now)
+                .addQueryParameter("order", "expires_at.asc")
+                .addQueryParameter("limit", String.valueOf(limit))
+                .build();
+
+        Request request = new Request.Builder()
+                .url(url)
+                .addHeader("apikey", supabaseAnonKey)
+                .addHeader("Authorization", "Bearer " + supabaseAnonKey)
+                .get()
+                .build();
+
+        try (Response response = httpClient.newCall(request).execute()) {
+            if (!response.isSuccessful()) {
+                throw new IOException("Falha ao buscar alertas expirados: " + Objects.requireNonNull(response.body()).string());
+            }
+            List<Alert> alerts = gson.fromJson(Objects.requireNonNull(response.body()).charStream(), ALERT_LIST_TYPE);
+            return alerts != null ? alerts : List.of();
+        }
+    }
+
+    /**
+     * Copia alertas para uma tabela de arquivo com as mesmas colunas da tabela alerts.
+     * Registros já arquivados (mesmo ID) são sobrescritos, permitindo repetir um lote interrompido.
+     * @param table nome da tabela de arquivo
+     * @param alerts alertas a serem arquivados
+     * @throws IOException em caso de erro de comunicação ou resposta inválida
+     */
+    public void archiveAlerts(String table, List<Alert> alerts) throws IOException {
+        if (alerts.isEmpty()) {
+            return;
+        }
+        RequestBody body = RequestBody.create(gson.toJson(alerts), MediaType.parse("application/json"));
+
+        HttpUrl url = Objects.requireNonNull(HttpUrl.parse(supabaseUrl + "/rest/v1/" + table)).newBuilder()
+                .addQueryParameter("columns", ARCHIVE_COLUMNS)
+                .build();
+        Request request = new Request.Builder()
+                .url(url)
+                .addHeader("apikey", supabaseAnonKey)
+                .addHeader("Authorization", "Bearer " + supabaseAnonKey)
+                .addHeader("Content-Type", "application/json")
+                .addHeader("Prefer", "resolution=merge-duplicates,return=minimal")
+                .post(body)
+                .build();
+
+        try (Response response = httpClient.newCall(request).execute()) {
+            if (!response.isSuccessful()) {
+                throw new IOException("Falha ao arquivar alertas: " + Objects.requireNonNull(response.body()).string());
+            }
+        }
+    }
+
+    /**
+     * Busca vários alertas pelos IDs em uma única requisição.
+     * @param ids identificadores dos alertas
+     * @return alertas encontrados, em qualquer ordem
+     * @throws IOException em caso de erro de comunicação ou resposta inválida
+     */
+    public List<Alert> getAlertsByIds(List<String> ids) throws IOException {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        HttpUrl url = HttpUrl.parse(supabaseUrl + "/rest/v1/alerts").newBuilder()
+                .addQueryParameter("select", "*")
+                .addQueryParameter("id", "in.(" + String.join(",", ids) + ")")
+                .build();
+
+        Request request = new Request.Builder()
+                .url(url)
+                .addHeader("apikey", supabaseAnonKey)
+                .addHeader("Authorization", "Bearer " + supabaseAnonKey)
+                .get()
+                .build();
+
+        try (Response response = httpClient.newCall(request).execute()) {
+            if (!response.isSuccessful()) {
+                throw new IOException("Falha ao buscar alertas por ID: " + Objects.requireNonNull(response.body()).string());
+            }
+            return gson.fromJson(Objects.requireNonNull(response.body()).charStream(), ALERT_LIST_TYPE);
+        }
+    }
+
+    /**
+     * Exclui vários alertas do Supabase em uma única requisição.
+     * @param ids identificadores dos alertas a serem excluídos
+     * @throws IOException em caso de erro de comunicação ou resposta inválida
+     */
+    public void deleteAlerts(List<String> ids) throws IOException {
+        if (ids.isEmpty()) {
+            return;
+        }
+        HttpUrl url = HttpUrl.parse(supabaseUrl + "/rest/v1/alerts").newBuilder()
+                .addQueryParameter("id", "in.(" + String.join(",", ids) + ")")
+                .build();
+
+        Request request = new Request.Builder()
+                .url(url)
+                .addHeader("apikey", supabaseAnonKey)
+                .addHeader("Authorization", "Bearer " + supabaseAnonKey)
+                .delete()
+                .build();
+
+        try (Response response = httpClient.newCall(request).execute()) {
+            if (!response.isSuccessful()) {
+                throw new IOException("Falha ao excluir alertas em lote: " + Objects.requireNonNull(response.body()).string());
+            }
+        }
+    }
+
     /**
      * Exclui um alerta do Supabase pelo seu ID.
      * @param id identificador do alerta a ser excluído
@@ -0,0 +1,68 @@
+package com.alertae.api.service;
+
+import com.alertae.api.model.Alert;
+
+/**
+ * Interface para componentes que mantêm estruturas em memória derivadas dos alertas
+ * (índices, grades, caches) e precisam ser notificados a cada alteração.
+ * As implementações registradas como beans são notificadas pelo {@link AlertChangePublisher}.
+ */
+public interface AlertChangeListener {
+
+    /**
+     * Chamado após a criação de um alerta.
+     * @param alert alerta criado, com os dados retornados pelo Supabase
+     */
+    void onAlertCreated(Alert alert);
+
+    /**
+     * Chamado após a criação de um alerta a partir de um endereço, com a cidade e a UF informadas
+     * (que não são gravadas no Supabase). Por padrão, é tratado como {@link #onAlertCreated(Alert)}.
+     * @param alert alerta criado
+     * @param city cidade informada na criação, ou null
+     * @param region UF/região informada na criação, ou null
+     */
+    default void onAlertCreated(Alert alert, String city, String region) {
+        onAlertCreated(alert);
+    }
+
+    /**
+     * Chamado após a atualização de um alerta.
+     * @param previous estado anterior do alerta, ou null se desconhecido
+     * @param current estado atualizado do alerta
+     */
+    void onAlertUpdated(Alert previous, Alert current);
+
+    /**
+     * Chamado após a exclusão de um alerta.
+     * @param previous alerta excluído
+     */
+    void onAlertDeleted(Alert previous);
+
+    /**
+     * Chamado para cada alerta já existente durante a carga inicial feita pelo {@link AlertIndexBootstrap}.
+     * Por padrão, é tratado como uma criação.
+     * @param alert alerta existente no Supabase
+     */
+    default void onAlertLoaded(Alert alert) {
+        onAlertCreated(alert);
+    }
+
+    /**
+     * Chamado antes de uma nova carga completa, quando as estruturas em memória podem ter divergido do Supabase
+     * (ex.: mensagens perdidas entre as instâncias). O listener deve descartar todo o estado derivado dos alertas;
+     * os alertas são informados novamente por {@link #onAlertLoaded(Alert)}.
+     */
+    void onAlertsReset();
+
+    /**
+     * Indica se o listener mantém estado derivado dos alertas do Supabase. Os que apenas repassam as alterações
+     * (como a sincronização entre as instâncias) ou cujo estado não pode ser refeito a partir do Supabase (como as
+     * estatísticas) retornam false: recebem cada alteração assim que ela ocorre e não participam das cargas nem da
+     * reconciliação.
+     * @return true se o listener participa das cargas do {@link AlertIndexBootstrap}
+     */
+    default boolean holdsAlertState() {
+        return true;
+    }
+}
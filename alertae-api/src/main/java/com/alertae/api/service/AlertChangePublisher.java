@@ -0,0 +1,233 @@
+package com.alertae.api.service;
+
+import com.alertae.api.model.Alert;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+
+/**
+ * Distribui as alterações de alertas para todos os {@link AlertChangeListener} registrados.
+ * Falhas de um listener são registradas em log e não interrompem a operação nem os demais listeners.
+ * <p>
+ * Durante uma carga ({@link AlertIndexBootstrap}) as alterações são retidas e, ao final, reconciliadas
+ * com o que foi carregado: uma alteração pode chegar antes ou depois da página que contém o alerta, e aplicá-la
+ * diretamente contaria o alerta duas vezes (atualização antes da carga) ou removeria um alerta ainda não
+ * contado (exclusão antes da carga). Somente os listeners que mantêm estado ({@link AlertChangeListener#holdsAlertState()})
+ * participam da retenção; os demais recebem cada alteração imediatamente.
+ */
+@Component
+public class AlertChangePublisher {
+
+    private static final Logger log = LoggerFactory.getLogger(AlertChangePublisher.class);
+
+    private final ObjectProvider<AlertChangeListener> listenerProvider;
+    private volatile List<AlertChangeListener> stateListeners;
+    private volatile List<AlertChangeListener> forwardingListeners;
+
+    /**
+     * Alterações diretas usam a trava de leitura; o início e o fim de uma carga usam a de escrita, para que
+     * nenhuma alteração seja aplicada entre o descarte do estado e o início da retenção.
+     */
+    private final ReentrantReadWriteLock loadLock = new ReentrantReadWriteLock();
+    private volatile boolean loading;
+    private final List<PendingChange> pendingChanges = new ArrayList<>();
+
+    /**
+     * Versão de cada alerta entregue aos listeners pela carga. Existe somente durante a carga.
+     */
+    private final Map<String, Alert> loadedAlerts = new ConcurrentHashMap<>();
+
+    /**
+     * Construtor para injeção dos listeners (resolvidos de forma tardia para evitar dependências circulares).
+     * @param listenerProvider provedor dos listeners registrados
+     */
+    @Autowired
+    public AlertChangePublisher(ObjectProvider<AlertChangeListener> listenerProvider) {
+        this.listenerProvider = listenerProvider;
+    }
+
+    /**
+     * Indica se há listeners registrados; permite evitar consultas extras quando ninguém será notificado.
+     * @return true se existe ao menos um listener
+     */
+    public boolean hasListeners() {
+        return !stateListeners().isEmpty() || !forwardingListeners().isEmpty();
+    }
+
+    /**
+     * Notifica a criação de um alerta.
+     * @param alert alerta criado
+     */
+    public void publishCreated(Alert alert) {
+        publish(null, alert, listener -> listener.onAlertCreated(alert));
+    }
+
+    /**
+     * Notifica a criação de um alerta a partir de um endereço.
+     * @param alert alerta criado
+     * @param city cidade informada na criação, ou null
+     * @param region UF/região informada na criação, ou null
+     */
+    public void publishCreated(Alert alert, String city, String region) {
+        publish(null, alert, listener -> listener.onAlertCreated(alert, city, region));
+    }
+
+    /**
+     * Notifica a atualização de um alerta.
+     * @param previous estado anterior, ou null se desconhecido
+     * @param current estado atualizado
+     */
+    public void publishUpdated(Alert previous, Alert current) {
+        publish(previous, current, listener -> listener.onAlertUpdated(previous, current));
+    }
+
+    /**
+     * Notifica a exclusão de um alerta.
+     * @param previous alerta excluído
+     */
+    public void publishDeleted(Alert previous) {
+        publish(previous, null, listener -> listener.onAlertDeleted(previous));
+    }
+
+    /**
+     * Notifica um alerta existente lido durante a carga.
+     * @param alert alerta existente
+     */
+    public void publishLoaded(Alert alert) {
+        if (loading && alert.getId() != null) {
+            loadedAlerts.put(alert.getId(), alert);
+        }
+        dispatch(stateListeners(), listener -> listener.onAlertLoaded(alert));
+    }
+
+    /**
+     * Passa a reter as alterações até {@link #finishLoad()}. Chamado antes de a aplicação receber requisições.
+     */
+    public void beginLoad() {
+        loadLock.writeLock().lock();
+        try {
+            loading = true;
+        } finally {
+            loadLock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Inicia uma nova carga completa: passa a reter as alterações e pede aos listeners que descartem o estado atual.
+     */
+    public void beginReload() {
+        loadLock.writeLock().lock();
+        try {
+            loading = true;
+            pendingChanges.clear();
+            loadedAlerts.clear();
+            dispatch(stateListeners(), AlertChangeListener::onAlertsReset);
+        } finally {
+            loadLock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Encerra a carga (com sucesso ou não): aplica as alterações retidas levando em conta a versão de cada
+     * alerta que os listeners receberam na carga e volta a repassar as alterações diretamente.
+     */
+    public void finishLoad() {
+        loadLock.writeLock().lock();
+        try {
+            if (!loading) {
+                return;
+            }
+            Map<String, List<PendingChange>> byId = new LinkedHashMap<>();
+            for (PendingChange change : pendingChanges) {
+                byId.computeIfAbsent(change.id(), id -> new ArrayList<>()).add(change);
+            }
+            for (Map.Entry<String, List<PendingChange>> entry : byId.entrySet()) {
+                reconcile(entry.getValue(), loadedAlerts.get(entry.getKey()));
+            }
+            pendingChanges.clear();
+            loadedAlerts.clear();
+            loading = false;
+        } finally {
+            loadLock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Leva os listeners da versão recebida na carga (ou de nenhuma) ao estado final das alterações retidas de um alerta.
+     */
+    private void reconcile(List<PendingChange> changes, Alert held) {
+        Alert target = changes.get(changes.size() - 1).current();
+        if (held == null && target != null) {
+            dispatch(stateListeners(), listener -> listener.onAlertCreated(target));
+        } else if (held != null && target == null) {
+            dispatch(stateListeners(), listener -> listener.onAlertDeleted(held));
+        } else if (held != null && !held.equals(target)) {
+            dispatch(stateListeners(), listener -> listener.onAlertUpdated(held, target));
+        }
+    }
+
+    private void publish(Alert previous, Alert current, Consumer<AlertChangeListener> action) {
+        loadLock.readLock().lock();
+        try {
+            if (loading) {
+                synchronized (pendingChanges) {
+                    pendingChanges.add(new PendingChange(previous, current));
+                }
+            } else {
+                dispatch(stateListeners(), action);
+            }
+        } finally {
+            loadLock.readLock().unlock();
+        }
+        // Fora da trava: o repasse pode notificar outras instâncias no mesmo processo (cluster.mode=in-memory)
+        dispatch(forwardingListeners(), action);
+    }
+
+    private void dispatch(List<AlertChangeListener> listeners, Consumer<AlertChangeListener> action) {
+        for (AlertChangeListener listener : listeners) {
+            try {
+                action.accept(listener);
+            } catch (RuntimeException e) {
+                log.warn("Falha ao notificar {}", listener.getClass().getSimpleName(), e);
+            }
+        }
+    }
+
+    private List<AlertChangeListener> stateListeners() {
+        List<AlertChangeListener> result = stateListeners;
+        if (result == null) {
+            result = listenerProvider.orderedStream().filter(AlertChangeListener::holdsAlertState).toList();
+            stateListeners = result;
+        }
+        return result;
+    }
+
+    private List<AlertChangeListener> forwardingListeners() {
+        List<AlertChangeListener> result = forwardingListeners;
+        if (result == null) {
+            result = listenerProvider.orderedStream().filter(listener -> !listener.holdsAlertState()).toList();
+            forwardingListeners = result;
+        }
+        return result;
+    }
+
+    /**
+     * Alteração retida durante a carga: criação (sem previous), atualização ou exclusão (sem current).
+     */
+    private record PendingChange(Alert previous, Alert current) {
+
+        String id() {
+            return current != null ? current.getId() : previous.getId();
+        }
+    }
+}
@@ -0,0 +1,115 @@
+package com.alertae.api.service;
+
+import com.alertae.api.cluster.ClusterTransport;
+import com.alertae.api.config.AlertExpiryProperties;
+import com.alertae.api.model.Alert;
+import com.alertae.api.repository.SupabaseAlertRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Rotina de expiração de alertas: periodicamente busca, em lotes, os alertas com expires_at vencido,
+ * arquiva-os (modo ARCHIVE) e os exclui da tabela alerts, notificando os índices em memória.
+ * Com várias instâncias, a rotina roda somente na coordenadora do cluster.
+ */
+@Service
+public class AlertExpiryService {
+
+    private static final Logger log = LoggerFactory.getLogger(AlertExpiryService.class);
+
+    private final SupabaseAlertRepository alertRepository;
+    private final AlertChangePublisher changePublisher;
+    private final AlertExpiryProperties properties;
+    private final ClusterTransport clusterTransport;
+
+    /**
+     * Construtor para injeção de dependências.
+     * @param alertRepository repositório de alertas (Supabase)
+     * @param changePublisher publicador das alterações para os índices em memória
+     * @param properties propriedades de expiração
+     * @param clusterTransport transporte entre as instâncias, usado para saber se esta é a coordenadora
+     */
+    @Autowired
+    public AlertExpiryService(SupabaseAlertRepository alertRepository, AlertChangePublisher changePublisher,
+                              AlertExpiryProperties properties, ClusterTransport clusterTransport) {
+        this.alertRepository = alertRepository;
+        this.changePublisher = changePublisher;
+        this.properties = properties;
+        this.clusterTransport = clusterTransport;
+    }
+
+    /**
+     * Calcula a data de expiração de um novo alerta a partir do tempo de expiração da sua categoria,
+     * quando ela não foi informada.
+     * @param alert alerta a ser criado
+     */
+    public void applyDefaultExpiry(Alert alert) {
+        if (alert.getExpiresAt() != null) {
+            return;
+        }
+        Duration ttl = properties.ttlFor(alert.getCategory());
+        if (ttl != null) {
+            alert.setExpiresAt(OffsetDateTime.now(ZoneOffset.UTC).plus(ttl).toString());
+        }
+    }
+
+    /**
+     * Executa a rotina de expiração (agendada por {@code alerts.expiry.interval}).
+     */
+    @Scheduled(fixedDelayString = "${alerts.expiry.interval:PT5M}", initialDelayString = "${alerts.expiry.initial-delay:PT1M}")
+    public void purgeExpiredAlerts() {
+        if (!properties.isEnabled() || !clusterTransport.isCoordinator()) {
+            return;
+        }
+        try {
+            int purged = purgeExpired();
+            if (purged > 0) {
+                log.info("Rotina de expiração removeu {} alertas ({}).", purged, properties.getMode());
+            }
+        } catch (IOException e) {
+            log.warn("Falha na rotina de expiração: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Processa os alertas expirados em lotes, até esvaziar a fila ou atingir o limite de lotes por execução.
+     * @return quantidade de alertas arquivados/excluídos
+     * @throws IOException em caso de erro de comunicação com o Supabase
+     */
+    public int purgeExpired() throws IOException {
+        String now = OffsetDateTime.now(ZoneOffset.UTC).toString();
+        int total = 0;
+        for (int batch = 0; batch < properties.getMaxBatchesPerRun(); batch++) {
+            List<Alert> expired = alertRepository.getExpiredAlerts(now, properties.getBatchSize());
+            if (expired.isEmpty()) {
+                break;
+            }
+            if (properties.getMode() == AlertExpiryProperties.Mode.ARCHIVE) {
+                alertRepository.archiveAlerts(properties.getArchiveTable(), expired);
+            }
+            List<String> ids = new ArrayList<>(expired.size());
+            for (Alert alert : expired) {
+                ids.add(alert.getId());
+            }
+            alertRepository.deleteAlerts(ids);
+            for (Alert alert : expired) {
+                changePublisher.publishDeleted(alert);
+            }
+            total += expired.size();
+            if (expired.size() < properties.getBatchSize()) {
+                break;
+            }
+        }
+        return total;
+    }
+}
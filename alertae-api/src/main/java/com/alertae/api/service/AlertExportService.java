@@ -0,0 +1,138 @@
+package com.alertae.api.service;
+
+import com.alertae.api.dto.AlertFilter;
+import com.alertae.api.model.Alert;
+import com.alertae.api.repository.SupabaseAlertRepository;
+import com.alertae.api.util.CsvUtils;
+import com.google.gson.stream.JsonWriter;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+/**
+ * Serviço responsável pela exportação de alertas em GeoJSON e CSV.
+ * Os alertas são lidos do Supabase página a página e escritos diretamente no fluxo de saída,
+ * de modo que o uso de memória não depende do tamanho total da exportação.
+ */
+@Service
+public class AlertExportService {
+
+    private static final String[] CSV_HEADER = {"id", "title", "message", "email_notification", "lat", "long", "created_at"};
+
+    private final SupabaseAlertRepository alertRepository;
+
+    @Value("${export.page-size:1000}")
+    private int pageSize;
+
+    /**
+     * Construtor para injeção de dependências.
+     * @param alertRepository repositório de alertas (Supabase)
+     */
+    @Autowired
+    public AlertExportService(SupabaseAlertRepository alertRepository) {
+        this.alertRepository = alertRepository;
+    }
+
+    /**
+     * Escreve os alertas filtrados como uma FeatureCollection GeoJSON.
+     * @param filter filtros de área e período
+     * @param out fluxo de saída da resposta
+     * @throws IOException em caso de erro de comunicação com o Supabase ou de escrita
+     */
+    public void writeGeoJson(AlertFilter filter, OutputStream out) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        JsonWriter json = new JsonWriter(writer);
+        json.beginObject();
+        json.name("type").value("FeatureCollection");
+        json.name("features").beginArray();
+
+        String afterId = null;
+        List<Alert> page;
+        do {
+            page = alertRepository.getAlertsPage(filter, afterId, pageSize);
+            for (Alert alert : page) {
+                writeFeature(json, alert);
+            }
+            if (!page.isEmpty()) {
+                afterId = page.get(page.size() - 1).getId();
+            }
+            json.flush();
+        } while (page.size() == pageSize);
+
+        json.endArray();
+        json.endObject();
+        json.flush();
+    }
+
+    /**
+     * Escreve os alertas filtrados em formato CSV, com linha de cabeçalho.
+     * @param filter filtros de área e período
+     * @param out fluxo de saída da resposta
+     * @throws IOException em caso de erro de comunicação com o Supabase ou de escrita
+     */
+    public void writeCsv(AlertFilter filter, OutputStream out) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        CsvUtils.writeRow(writer, CSV_HEADER);
+
+        String afterId = null;
+        List<Alert> page;
+        do {
+            page = alertRepository.getAlertsPage(filter, afterId, pageSize);
+            for (Alert alert : page) {
+                CsvUtils.writeRow(writer,
+                        alert.getId(),
+                        alert.getTitle(),
+                        alert.getMessage(),
+                        alert.getEmailNotification(),
+                        alert.getLat() != null ? alert.getLat().toString() : null,
+                        alert.getLongitude() != null ? alert.getLongitude().toString() : null,
+                        alert.getCreatedAt());
+            }
+            if (!page.isEmpty()) {
+                afterId = page.get(page.size() - 1).getId();
+            }
+            writer.flush();
+        } while (page.size() == pageSize);
+
+        writer.flush();
+    }
+
+    /**
+     * Escreve um alerta como Feature GeoJSON do tipo Point (geometria nula quando não há coordenadas).
+     * @param json escritor JSON posicionado dentro do array de features
+     * @param alert alerta a ser escrito
+     * @throws IOException em caso de erro de escrita
+     */
+    private void writeFeature(JsonWriter json, Alert alert) throws IOException {
+        json.beginObject();
+        json.name("type").value("Feature");
+        json.name("id").value(alert.getId());
+        json.name("geometry");
+        if (alert.getLat() != null && alert.getLongitude() != null) {
+            json.beginObject();
+            json.name("type").value("Point");
+            json.name("coordinates").beginArray()
+                    .value(alert.getLongitude())
+                    .value(alert.getLat())
+                    .endArray();
+            json.endObject();
+        } else {
+            json.nullValue();
+        }
+        json.name("properties").beginObject();
+        json.name("title").value(alert.getTitle());
+        json.name("message").value(alert.getMessage());
+        json.name("email_notification").value(alert.getEmailNotification());
+        json.name("created_at").value(alert.getCreatedAt());
+        json.endObject();
+        json.endObject();
+    }
+}
@@ -0,0 +1,244 @@
+package com.alertae.api.service;
+
+import com.alertae.api.dto.AlertFilter;
+import com.alertae.api.dto.HeatmapGrid;
+import com.alertae.api.model.Alert;
+import com.alertae.api.util.TileMath;
+import com.alertae.api.util.Timestamps;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Service;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+/**
+ * Serviço que mantém grades de densidade de alertas pré-calculadas, atualizadas incrementalmente
+ * a cada criação, atualização ou exclusão.
+ * <p>
+ * Para cada nível de zoom de 0 a {@code heatmap.max-zoom} há uma grade esparsa de tiles Web Mercator;
+ * cada tile guarda um vetor primitivo de 2^bits x 2^bits contadores. As grades são separadas por dia
+ * (data de criação do alerta) e existe uma grade extra com o total geral. Uma consulta soma apenas as
+ * células da área visível nos dias do intervalo, sem percorrer os alertas.
+ */
+@Service
+@Order(10)
+public class AlertHeatmapService implements AlertChangeListener {
+
+    private static final long DAY_MILLIS = TimeUnit.DAYS.toMillis(1);
+
+    @Value("${heatmap.max-zoom:12}")
+    private int maxZoom;
+
+    @Value("${heatmap.cell-bits:4}")
+    private int cellBits;
+
+    @Value("${heatmap.max-cells:65536}")
+    private int maxCells;
+
+    private final ConcurrentSkipListMap<Long, Grid> gridsByDay = new ConcurrentSkipListMap<>();
+    private volatile Grid totalGrid;
+
+    /**
+     * Valida as propriedades e cria a grade do total geral.
+     */
+    @PostConstruct
+    void init() {
+        if (maxZoom < 0 || cellBits < 0 || maxZoom + cellBits > 30) {
+            throw new IllegalStateException("heatmap.max-zoom + heatmap.cell-bits deve estar entre 0 e 30.");
+        }
+        totalGrid = new Grid(maxZoom + 1);
+    }
+
+    @Override
+    public void onAlertCreated(Alert alert) {
+        apply(alert, 1);
+    }
+
+    @Override
+    public void onAlertUpdated(Alert previous, Alert current) {
+        if (previous != null) {
+            apply(previous, -1);
+        }
+        apply(current, 1);
+    }
+
+    @Override
+    public void onAlertDeleted(Alert previous) {
+        apply(previous, -1);
+    }
+
+    @Override
+    public void onAlertsReset() {
+        gridsByDay.clear();
+        totalGrid = new Grid(maxZoom + 1);
+    }
+
+    /**
+     * Monta a grade de densidade para a área e o intervalo informados.
+     * A resolução temporal é diária: {@code from} e {@code to} são arredondados para o dia (UTC).
+     * @param filter área (obrigatória) e intervalo de created_at (opcional)
+     * @param zoom zoom do mapa; zooms acima de {@code heatmap.max-zoom} usam a grade mais detalhada disponível
+     * @return grade com as contagens em run-length
+     * @throws IllegalArgumentException se a área estiver ausente ou a grade resultante for grande demais
+     */
+    public HeatmapGrid getHeatmap(AlertFilter filter, int zoom) {
+        if (!filter.hasBbox()) {
+            throw new IllegalArgumentException("Parâmetro bbox é obrigatório.");
+        }
+        if (zoom < 0) {
+            throw new IllegalArgumentException("Parâmetro zoom inválido: " + zoom);
+        }
+        int level = Math.min(zoom, maxZoom);
+        int cellZoom = level + cellBits;
+
+        int x0 = TileMath.lonToTileX(filter.getMinLon(), cellZoom);
+        int x1 = TileMath.lonToTileX(filter.getMaxLon(), cellZoom);
+        int y0 = TileMath.latToTileY(filter.getMaxLat(), cellZoom);
+        int y1 = TileMath.latToTileY(filter.getMinLat(), cellZoom);
+        int width = x1 - x0 + 1;
+        int height = y1 - y0 + 1;
+        if ((long) width * height > maxCells) {
+            throw new IllegalArgumentException("A área solicitada gera uma grade com mais de " + maxCells
+                    + " células; reduza o bbox ou o zoom.");
+        }
+
+        int[] cells = new int[width * height];
+        Long fromMillis = Timestamps.parseEpochMillis(filter.getFrom());
+        Long toMillis = Timestamps.parseEpochMillis(filter.getTo());
+        if (fromMillis == null && toMillis == null) {
+            accumulate(totalGrid, level, x0, y0, width, height, cells);
+        } else {
+            long fromDay = fromMillis != null ? Math.floorDiv(fromMillis, DAY_MILLIS) : Long.MIN_VALUE;
+            long toDay = toMillis != null ? Math.floorDiv(toMillis - 1, DAY_MILLIS) : Long.MAX_VALUE;
+            if (fromDay <= toDay) {
+                for (Grid grid : gridsByDay.subMap(fromDay, true, toDay, true).values()) {
+                    accumulate(grid, level, x0, y0, width, height, cells);
+                }
+            }
+        }
+
+        long total = 0;
+        int max = 0;
+        for (int count : cells) {
+            total += count;
+            max = Math.max(max, count);
+        }
+        double[] bounds = {
+                TileMath.tileXToLon(x0, cellZoom),
+                TileMath.tileYToLat(y1 + 1, cellZoom),
+                TileMath.tileXToLon(x1 + 1, cellZoom),
+                TileMath.tileYToLat(y0, cellZoom)
+        };
+        return new HeatmapGrid(zoom, cellZoom, x0, y0, width, height, bounds, total, max, runLength(cells));
+    }
+
+    /**
+     * Soma na grade de saída as células de um nível que caem dentro da janela solicitada.
+     */
+    private void accumulate(Grid grid, int level, int x0, int y0, int width, int height, int[] cells) {
+        Map<Long, AtomicIntegerArray> tiles = grid.levels[level];
+        if (tiles.isEmpty()) {
+            return;
+        }
+        int side = 1 << cellBits;
+        int x1 = x0 + width - 1;
+        int y1 = y0 + height - 1;
+        for (int tileY = y0 >> cellBits; tileY <= y1 >> cellBits; tileY++) {
+            for (int tileX = x0 >> cellBits; tileX <= x1 >> cellBits; tileX++) {
+                AtomicIntegerArray tile = tiles.get(tileKey(tileX, tileY));
+                if (tile == null) {
+                    continue;
+                }
+                int startX = Math.max(x0, tileX << cellBits);
+                int endX = Math.min(x1, ((tileX + 1) << cellBits) - 1);
+                int startY = Math.max(y0, tileY << cellBits);
+                int endY = Math.min(y1, ((tileY + 1) << cellBits) - 1);
+                for (int cy = startY; cy <= endY; cy++) {
+                    int tileRow = (cy & (side - 1)) * side;
+                    int outRow = (cy - y0) * width;
+                    for (int cx = startX; cx <= endX; cx++) {
+                        int count = tile.get(tileRow + (cx & (side - 1)));
+                        if (count > 0) {
+                            cells[outRow + cx - x0] += count;
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Incrementa (ou decrementa) a célula do alerta em todos os níveis, na grade do dia e na do total.
+     */
+    private void apply(Alert alert, int delta) {
+        if (alert == null || alert.getLat() == null || alert.getLongitude() == null) {
+            return;
+        }
+        int finestZoom = maxZoom + cellBits;
+        int cx = TileMath.lonToTileX(alert.getLongitude(), finestZoom);
+        int cy = TileMath.latToTileY(alert.getLat(), finestZoom);
+        long day = Math.floorDiv(Timestamps.createdAtMillis(alert.getCreatedAt()), DAY_MILLIS);
+        Grid dayGrid = gridsByDay.computeIfAbsent(day, d -> new Grid(maxZoom + 1));
+
+        int side = 1 << cellBits;
+        for (int level = 0; level <= maxZoom; level++) {
+            int shift = maxZoom - level;
+            int lx = cx >> shift;
+            int ly = cy >> shift;
+            long key = tileKey(lx >> cellBits, ly >> cellBits);
+            int index = (ly & (side - 1)) * side + (lx & (side - 1));
+            add(totalGrid, level, key, index, delta);
+            add(dayGrid, level, key, index, delta);
+        }
+    }
+
+    private void add(Grid grid, int level, long key, int index, int delta) {
+        AtomicIntegerArray tile = grid.levels[level].computeIfAbsent(key, k -> new AtomicIntegerArray(1 << (2 * cellBits)));
+        tile.addAndGet(index, delta);
+    }
+
+    private static long tileKey(int tileX, int tileY) {
+        return ((long) tileX << 32) | (tileY & 0xffffffffL);
+    }
+
+    /**
+     * Codifica o vetor de contagens como pares [valor, repetições].
+     */
+    private static int[] runLength(int[] cells) {
+        int[] out = new int[Math.max(2, cells.length * 2)];
+        int size = 0;
+        int i = 0;
+        while (i < cells.length) {
+            int value = cells[i];
+            int run = 1;
+            while (i + run < cells.length && cells[i + run] == value) {
+                run++;
+            }
+            out[size++] = value;
+            out[size++] = run;
+            i += run;
+        }
+        return Arrays.copyOf(out, size);
+    }
+
+    /**
+     * Conjunto de grades esparsas (uma por nível de zoom) de um período.
+     */
+    private static final class Grid {
+        final Map<Long, AtomicIntegerArray>[] levels;
+
+        @SuppressWarnings("unchecked")
+        Grid(int levelCount) {
+            levels = new Map[levelCount];
+            for (int i = 0; i < levelCount; i++) {
+                levels[i] = new ConcurrentHashMap<>();
+            }
+        }
+    }
+}
@@ -0,0 +1,238 @@
+package com.alertae.api.service;
+
+import com.alertae.api.model.Alert;
+import com.alertae.api.util.Timestamps;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.annotation.Order;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Conjunto em memória dos alertas ativos: ainda não expirados e, se {@code alerts.hot-set.window} estiver
+ * configurada, criados dentro dessa janela. Sem janela (padrão), todo o histórico não expirado é ativo.
+ * <p>
+ * Os alertas são particionados pela hora de criação; quando uma partição sai da janela ela é descartada
+ * inteira, de modo que o custo de manutenção e das consultas padrão depende apenas da quantidade de
+ * alertas ativos, e não do histórico total.
+ */
+@Component
+@Order(5)
+public class AlertHotSet implements AlertChangeListener {
+
+    private static final Logger log = LoggerFactory.getLogger(AlertHotSet.class);
+
+    private static final long PARTITION_MILLIS = TimeUnit.HOURS.toMillis(1);
+
+    private final AlertIndexBootstrap bootstrap;
+
+    /**
+     * Idade máxima dos alertas ativos; null (padrão) mantém todo o histórico não expirado.
+     */
+    @Value("${alerts.hot-set.window:}")
+    private Duration window;
+
+    private final ConcurrentSkipListMap<Long, Map<String, Alert>> partitions = new ConcurrentSkipListMap<>();
+    private final Map<String, Long> partitionById = new ConcurrentHashMap<>();
+    private final List<Consumer<Alert>> evictionListeners = new CopyOnWriteArrayList<>();
+
+    /**
+     * Construtor para injeção de dependências.
+     * @param bootstrap carga inicial dos índices, usada para saber se o conjunto já está completo
+     */
+    public AlertHotSet(AlertIndexBootstrap bootstrap) {
+        this.bootstrap = bootstrap;
+    }
+
+    /**
+     * Indica se o conjunto já contém todos os alertas ativos (carga inicial concluída).
+     * @return true se as consultas podem ser respondidas pelo conjunto em memória
+     */
+    public boolean isReady() {
+        return bootstrap.isReady();
+    }
+
+    /**
+     * Retorna a janela de alertas ativos.
+     * @return idade máxima dos alertas ativos, ou null se não há limite
+     */
+    public Duration getWindow() {
+        return window;
+    }
+
+    /**
+     * Verifica se um alerta é ativo: criado dentro da janela (quando configurada) e não expirado.
+     * @param alert alerta a ser verificado
+     * @return true se o alerta pertence ao conjunto ativo
+     */
+    public boolean isActive(Alert alert) {
+        long now = System.currentTimeMillis();
+        if (Timestamps.createdAtMillis(alert.getCreatedAt()) < windowStart(now)) {
+            return false;
+        }
+        return !isExpired(alert, now);
+    }
+
+    /**
+     * Registra uma ação a ser executada quando um alerta sai do conjunto por idade ou expiração.
+     * @param listener ação que recebe o alerta removido
+     */
+    public void addEvictionListener(Consumer<Alert> listener) {
+        evictionListeners.add(listener);
+    }
+
+    /**
+     * Retorna os alertas ativos, do mais antigo para o mais recente.
+     * @return lista de alertas ativos
+     */
+    public List<Alert> getActiveAlerts() {
+        long now = System.currentTimeMillis();
+        List<Alert> result = new ArrayList<>();
+        for (Map<String, Alert> partition : partitions.tailMap(partitionOf(windowStart(now))).values()) {
+            List<Alert> alerts = new ArrayList<>(partition.values());
+            alerts.sort(Comparator.comparing(Alert::getCreatedAt, Comparator.nullsLast(Comparator.naturalOrder())));
+            for (Alert alert : alerts) {
+                if (!isExpired(alert, now)) {
+                    result.add(alert);
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Busca um alerta ativo pelo ID.
+     * @param id identificador do alerta
+     * @return alerta, ou null se não estiver no conjunto ativo
+     */
+    public Alert get(String id) {
+        Long partition = partitionById.get(id);
+        if (partition == null) {
+            return null;
+        }
+        Map<String, Alert> alerts = partitions.get(partition);
+        return alerts != null ? alerts.get(id) : null;
+    }
+
+    /**
+     * Quantidade de alertas no conjunto.
+     * @return número de alertas ativos em memória
+     */
+    public int size() {
+        return partitionById.size();
+    }
+
+    @Override
+    public void onAlertCreated(Alert alert) {
+        put(alert);
+    }
+
+    @Override
+    public void onAlertUpdated(Alert previous, Alert current) {
+        put(current);
+    }
+
+    @Override
+    public void onAlertDeleted(Alert previous) {
+        if (previous.getId() != null) {
+            remove(previous.getId());
+        }
+    }
+
+    @Override
+    public void onAlertsReset() {
+        partitions.clear();
+        partitionById.clear();
+    }
+
+    /**
+     * Descarta as partições que saíram da janela e os alertas que expiraram.
+     */
+    @Scheduled(fixedDelayString = "${alerts.hot-set.eviction-interval:PT1M}")
+    public void evict() {
+        long now = System.currentTimeMillis();
+        Map<Long, Map<String, Alert>> old = partitions.headMap(partitionOf(windowStart(now)));
+        for (Long key : new ArrayList<>(old.keySet())) {
+            Map<String, Alert> partition = partitions.remove(key);
+            if (partition != null) {
+                for (Alert alert : partition.values()) {
+                    partitionById.remove(alert.getId(), key);
+                    notifyEviction(alert);
+                }
+            }
+        }
+        for (Map<String, Alert> partition : partitions.values()) {
+            for (Alert alert : partition.values()) {
+                if (isExpired(alert, now)) {
+                    remove(alert.getId());
+                    notifyEviction(alert);
+                }
+            }
+        }
+    }
+
+    private void put(Alert alert) {
+        if (alert.getId() == null) {
+            return;
+        }
+        remove(alert.getId());
+        if (!isActive(alert)) {
+            return;
+        }
+        long partition = partitionOf(Timestamps.createdAtMillis(alert.getCreatedAt()));
+        partitions.computeIfAbsent(partition, k -> new ConcurrentHashMap<>()).put(alert.getId(), alert);
+        partitionById.put(alert.getId(), partition);
+    }
+
+    private void remove(String id) {
+        Long partition = partitionById.remove(id);
+        if (partition != null) {
+            Map<String, Alert> alerts = partitions.get(partition);
+            if (alerts != null) {
+                alerts.remove(id);
+            }
+        }
+    }
+
+    private void notifyEviction(Alert alert) {
+        for (Consumer<Alert> listener : evictionListeners) {
+            try {
+                listener.accept(alert);
+            } catch (RuntimeException e) {
+                log.warn("Falha ao notificar remoção do alerta {}", alert.getId(), e);
+            }
+        }
+    }
+
+    private long windowStart(long now) {
+        return window == null ? Long.MIN_VALUE : now - window.toMillis();
+    }
+
+    private static boolean isExpired(Alert alert, long now) {
+        if (alert.getExpiresAt() == null) {
+            return false;
+        }
+        try {
+            Long expiresAt = Timestamps.parseEpochMillis(alert.getExpiresAt());
+            return expiresAt != null && expiresAt <= now;
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
+
+    private static long partitionOf(long millis) {
+        return Math.floorDiv(millis, PARTITION_MILLIS);
+    }
+}
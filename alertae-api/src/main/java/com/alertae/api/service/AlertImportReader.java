@@ -0,0 +1,229 @@
+package com.alertae.api.service;
+
+import com.alertae.api.dto.AlertImportRow;
+import com.alertae.api.util.CsvUtils;
+import com.alertae.api.util.Timestamps;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import com.google.gson.stream.JsonReader;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Leitor em streaming das linhas de um arquivo de importação (CSV ou GeoJSON).
+ * Apenas uma linha/feature é mantida em memória por vez.
+ */
+abstract class AlertImportReader implements Closeable {
+
+    /**
+     * Abre o arquivo no formato indicado.
+     * @param path caminho do arquivo enviado
+     * @param format csv ou geojson
+     * @return leitor posicionado na primeira linha de dados
+     * @throws IOException em caso de erro de leitura ou cabeçalho inválido
+     */
+    static AlertImportReader open(Path path, String format) throws IOException {
+        BufferedReader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8);
+        try {
+            return "csv".equals(format) ? new Csv(reader) : new GeoJson(reader);
+        } catch (IOException | RuntimeException e) {
+            reader.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Lê a próxima linha do arquivo.
+     * @return linha lida, ou null ao final do arquivo
+     * @throws IOException em caso de erro de leitura ou conteúdo inválido
+     */
+    abstract AlertImportRow next() throws IOException;
+
+    private static Double parseDouble(String value) {
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        try {
+            return Double.parseDouble(value.trim());
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private static String emptyToNull(String value) {
+        return value == null || value.isBlank() ? null : value.trim();
+    }
+
+    /**
+     * Retorna a data de expiração informada, descartando valores que não são datas válidas.
+     */
+    private static String parseTimestamp(String value) {
+        String timestamp = emptyToNull(value);
+        if (timestamp == null) {
+            return null;
+        }
+        try {
+            Timestamps.parseEpochMillis(timestamp);
+            return timestamp;
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Leitor de CSV com cabeçalho. Colunas reconhecidas: title, message, email_notification,
+     * street, neighborhood, city, state, country, lat, long, category, expires_at.
+     */
+    private static final class Csv extends AlertImportReader {
+
+        private final BufferedReader reader;
+        private final Map<String, Integer> columns = new HashMap<>();
+
+        Csv(BufferedReader reader) throws IOException {
+            this.reader = reader;
+            List<String> header = CsvUtils.readRow(reader);
+            if (header == null) {
+                throw new IOException("Arquivo CSV vazio.");
+            }
+            for (int i = 0; i < header.size(); i++) {
+                String name = header.get(i).trim().toLowerCase(Locale.ROOT);
+                if (i == 0 && !name.isEmpty() && name.charAt(0) == '\uFEFF') {
+                    name = name.substring(1);
+                }
+                columns.put(name, i);
+            }
+            if (!columns.containsKey("title")) {
+                throw new IOException("Cabeçalho CSV sem a coluna obrigatória 'title'.");
+            }
+        }
+
+        @Override
+        AlertImportRow next() throws IOException {
+            List<String> values;
+            do {
+                values = CsvUtils.readRow(reader);
+                if (values == null) {
+                    return null;
+                }
+            } while (values.size() == 1 && values.get(0).isBlank());
+
+            AlertImportRow row = new AlertImportRow();
+            row.setTitle(get(values, "title"));
+            row.setMessage(get(values, "message"));
+            row.setEmailNotification(get(values, "email_notification", "emailnotification"));
+            row.setStreet(get(values, "street"));
+            row.setNeighborhood(get(values, "neighborhood"));
+            row.setCity(get(values, "city"));
+            row.setState(get(values, "state"));
+            String country = get(values, "country");
+            if (country != null && !country.isBlank()) {
+                row.setCountry(country);
+            }
+            row.setLat(parseDouble(get(values, "lat", "latitude")));
+            row.setLongitude(parseDouble(get(values, "long", "longitude", "lon")));
+            row.setCategory(emptyToNull(get(values, "category")));
+            row.setExpiresAt(parseTimestamp(get(values, "expires_at", "expiresat")));
+            return row;
+        }
+
+        private String get(List<String> values, String... names) {
+            for (String name : names) {
+                Integer index = columns.get(name);
+                if (index != null && index < values.size()) {
+                    return values.get(index);
+                }
+            }
+            return null;
+        }
+
+        @Override
+        public void close() throws IOException {
+            reader.close();
+        }
+    }
+
+    /**
+     * Leitor de FeatureCollection GeoJSON. As propriedades de cada feature usam os mesmos nomes
+     * das colunas do CSV; uma geometria Point, se presente, fornece as coordenadas.
+     */
+    private static final class GeoJson extends AlertImportReader {
+
+        private final JsonReader reader;
+        private boolean inFeatures;
+
+        GeoJson(BufferedReader reader) throws IOException {
+            this.reader = new JsonReader(reader);
+            this.reader.beginObject();
+            while (this.reader.hasNext()) {
+                if ("features".equals(this.reader.nextName())) {
+                    this.reader.beginArray();
+                    inFeatures = true;
+                    return;
+                }
+                this.reader.skipValue();
+            }
+        }
+
+        @Override
+        AlertImportRow next() throws IOException {
+            if (!inFeatures || !reader.hasNext()) {
+                return null;
+            }
+            JsonObject feature = JsonParser.parseReader(reader).getAsJsonObject();
+            JsonObject properties = feature.has("properties") && feature.get("properties").isJsonObject()
+                    ? feature.getAsJsonObject("properties") : new JsonObject();
+
+            AlertImportRow row = new AlertImportRow();
+            row.setTitle(get(properties, "title"));
+            row.setMessage(get(properties, "message"));
+            row.setEmailNotification(get(properties, "email_notification", "emailNotification"));
+            row.setStreet(get(properties, "street"));
+            row.setNeighborhood(get(properties, "neighborhood"));
+            row.setCity(get(properties, "city"));
+            row.setState(get(properties, "state"));
+            String country = get(properties, "country");
+            if (country != null && !country.isBlank()) {
+                row.setCountry(country);
+            }
+            row.setCategory(emptyToNull(get(properties, "category")));
+            row.setExpiresAt(parseTimestamp(get(properties, "expires_at", "expiresAt")));
+
+            JsonElement geometry = feature.get("geometry");
+            if (geometry != null && geometry.isJsonObject()
+                    && "Point".equals(get(geometry.getAsJsonObject(), "type"))) {
+                JsonArray coordinates = geometry.getAsJsonObject().getAsJsonArray("coordinates");
+                if (coordinates != null && coordinates.size() >= 2) {
+                    row.setLongitude(coordinates.get(0).getAsDouble());
+                    row.setLat(coordinates.get(1).getAsDouble());
+                }
+            }
+            return row;
+        }
+
+        private String get(JsonObject object, String... names) {
+            for (String name : names) {
+                JsonElement element = object.get(name);
+                if (element != null && element.isJsonPrimitive()) {
+                    return element.getAsString();
+                }
+            }
+            return null;
+        }
+
+        @Override
+        public void close() throws IOException {
+            reader.close();
+        }
+    }
+}
@@ -0,0 +1,376 @@
+package com.alertae.api.service;
+
+import com.alertae.api.dto.AlertImportRow;
+import com.alertae.api.model.Alert;
+import com.alertae.api.model.ImportJob;
+import com.google.gson.Gson;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Stream;
+
+/**
+ * Serviço responsável pela importação em lote de alertas a partir de arquivos CSV ou GeoJSON.
+ * O arquivo é lido em streaming e processado em lotes: as linhas sem coordenadas são geocodificadas
+ * em paralelo (respeitando o limite de taxa e o cache do {@link GeocodingService}) e cada lote é
+ * inserido no Supabase de uma só vez. Após cada lote o progresso é gravado em disco, permitindo
+ * retomar o job do ponto em que parou após um reinício.
+ */
+@Service
+public class AlertImportService {
+
+    private static final Logger log = LoggerFactory.getLogger(AlertImportService.class);
+
+    private final AlertService alertService;
+    private final GeocodingService geocodingService;
+    private final Gson gson;
+
+    @Value("${import.work-dir:data/imports}")
+    private String workDir;
+
+    @Value("${import.chunk-size:500}")
+    private int chunkSize;
+
+    @Value("${import.geocoding-threads:4}")
+    private int geocodingThreads;
+
+    @Value("${import.max-concurrent-jobs:1}")
+    private int maxConcurrentJobs;
+
+    private final Map<String, ImportJob> jobs = new ConcurrentHashMap<>();
+    private Path workPath;
+    private ExecutorService jobExecutor;
+    private ExecutorService geocodingExecutor;
+
+    /**
+     * Construtor para injeção de dependências.
+     * @param alertService serviço de alertas, usado para a inserção em lote
+     * @param geocodingService serviço de geocodificação de endereços
+     * @param gson objeto Gson para gravação dos checkpoints
+     */
+    @Autowired
+    public AlertImportService(AlertService alertService, GeocodingService geocodingService, Gson gson) {
+        this.alertService = alertService;
+        this.geocodingService = geocodingService;
+        this.gson = gson;
+    }
+
+    /**
+     * Cria o diretório de trabalho, os executores e carrega os jobs gravados anteriormente.
+     * @throws IOException em caso de erro ao acessar o diretório de trabalho
+     */
+    @PostConstruct
+    void init() throws IOException {
+        workPath = Paths.get(workDir);
+        Files.createDirectories(workPath);
+        jobExecutor = Executors.newFixedThreadPool(maxConcurrentJobs);
+        geocodingExecutor = Executors.newFixedThreadPool(geocodingThreads);
+
+        try (Stream<Path> files = Files.list(workPath)) {
+            for (Path file : (Iterable<Path>) files.filter(p -> p.toString().endsWith(".json"))::iterator) {
+                try {
+                    ImportJob job = gson.fromJson(Files.readString(file, StandardCharsets.UTF_8), ImportJob.class);
+                    if (job != null && job.getId() != null) {
+                        jobs.put(job.getId(), job);
+                    }
+                } catch (IOException | RuntimeException e) {
+                    log.warn("Checkpoint de importação ilegível: {} - {}", file, e.getMessage());
+                }
+            }
+        }
+    }
+
+    /**
+     * Retoma, após a inicialização da aplicação, os jobs que estavam pendentes ou em execução.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void resumePendingJobs() {
+        for (ImportJob job : jobs.values()) {
+            if (job.getStatus() == ImportJob.Status.PENDING || job.getStatus() == ImportJob.Status.RUNNING) {
+                log.info("Retomando importação {} a partir da linha {}", job.getId(), job.getRowsProcessed());
+                jobExecutor.submit(() -> run(job));
+            }
+        }
+    }
+
+    /**
+     * Interrompe os jobs em execução; o último checkpoint gravado é usado na próxima inicialização.
+     */
+    @PreDestroy
+    void shutdown() {
+        jobExecutor.shutdownNow();
+        geocodingExecutor.shutdownNow();
+    }
+
+    /**
+     * Registra um novo job de importação para o arquivo enviado e agenda a sua execução.
+     * @param file arquivo CSV ou GeoJSON
+     * @param format formato explícito (csv ou geojson); se nulo, é inferido pela extensão do arquivo
+     * @return job criado
+     * @throws IllegalArgumentException se o formato não puder ser determinado
+     * @throws IOException em caso de erro ao gravar o arquivo em disco
+     */
+    public ImportJob submit(MultipartFile file, String format) throws IOException {
+        String resolvedFormat = resolveFormat(format, file.getOriginalFilename());
+
+        ImportJob job = new ImportJob();
+        job.setId(UUID.randomUUID().toString());
+        job.setFileName(file.getOriginalFilename());
+        job.setFormat(resolvedFormat);
+        job.setStatus(ImportJob.Status.PENDING);
+        job.setCreatedAt(OffsetDateTime.now().toString());
+
+        file.transferTo(dataPath(job));
+        persist(job);
+        jobs.put(job.getId(), job);
+        jobExecutor.submit(() -> run(job));
+        return snapshot(job);
+    }
+
+    /**
+     * Retorna o progresso de um job.
+     * @param id identificador do job
+     * @return cópia do estado atual do job, ou null se não existir
+     */
+    public ImportJob getJob(String id) {
+        ImportJob job = jobs.get(id);
+        return job != null ? snapshot(job) : null;
+    }
+
+    /**
+     * Lista todos os jobs conhecidos, do mais recente para o mais antigo.
+     * @return cópias do estado atual dos jobs
+     */
+    public List<ImportJob> getJobs() {
+        List<ImportJob> result = new ArrayList<>();
+        for (ImportJob job : jobs.values()) {
+            result.add(snapshot(job));
+        }
+        result.sort(Comparator.comparing(ImportJob::getCreatedAt, Comparator.nullsLast(Comparator.reverseOrder())));
+        return result;
+    }
+
+    /**
+     * Reagenda um job que falhou, continuando a partir do último checkpoint.
+     * @param id identificador do job
+     * @return cópia do estado do job, ou null se não existir
+     * @throws IllegalStateException se o job não estiver com falha
+     */
+    public ImportJob resume(String id) {
+        ImportJob job = jobs.get(id);
+        if (job == null) {
+            return null;
+        }
+        synchronized (job) {
+            if (job.getStatus() != ImportJob.Status.FAILED) {
+                throw new IllegalStateException("Apenas jobs com falha podem ser retomados. Situação atual: " + job.getStatus());
+            }
+            job.setStatus(ImportJob.Status.PENDING);
+            job.setErrorMessage(null);
+        }
+        jobExecutor.submit(() -> run(job));
+        return snapshot(job);
+    }
+
+    /**
+     * Executa o job: pula as linhas já processadas segundo o checkpoint e processa o restante em lotes.
+     * @param job job a ser executado
+     */
+    private void run(ImportJob job) {
+        synchronized (job) {
+            job.setStatus(ImportJob.Status.RUNNING);
+            if (job.getStartedAt() == null) {
+                job.setStartedAt(OffsetDateTime.now().toString());
+            }
+        }
+        long runStartNanos = System.nanoTime();
+        long rowsAtRunStart = job.getRowsProcessed();
+
+        try (AlertImportReader reader = AlertImportReader.open(dataPath(job), job.getFormat())) {
+            persist(job);
+            for (long skipped = 0; skipped < rowsAtRunStart; skipped++) {
+                if (reader.next() == null) {
+                    break;
+                }
+            }
+
+            List<AlertImportRow> chunk = new ArrayList<>(chunkSize);
+            AlertImportRow row;
+            while ((row = reader.next()) != null) {
+                chunk.add(row);
+                if (chunk.size() == chunkSize) {
+                    processChunk(job, chunk, runStartNanos, rowsAtRunStart);
+                    chunk.clear();
+                }
+            }
+            if (!chunk.isEmpty()) {
+                processChunk(job, chunk, runStartNanos, rowsAtRunStart);
+            }
+
+            synchronized (job) {
+                job.setStatus(ImportJob.Status.COMPLETED);
+                job.setFinishedAt(OffsetDateTime.now().toString());
+            }
+            persist(job);
+            Files.deleteIfExists(dataPath(job));
+            log.info("Importação {} concluída: {} alertas inseridos.", job.getId(), job.getRowsInserted());
+        } catch (InterruptedException | InterruptedIOException e) {
+            // Aplicação encerrando: o job permanece RUNNING e é retomado do último checkpoint
+            Thread.currentThread().interrupt();
+        } catch (IOException | RuntimeException e) {
+            log.warn("Falha na importação {}: {}", job.getId(), e.getMessage());
+            synchronized (job) {
+                job.setStatus(ImportJob.Status.FAILED);
+                job.setErrorMessage(e.getMessage());
+            }
+            try {
+                persist(job);
+            } catch (IOException persistError) {
+                log.warn("Falha ao gravar checkpoint da importação {}: {}", job.getId(), persistError.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Geocodifica em paralelo as linhas do lote que não possuem coordenadas, insere o lote no Supabase
+     * e grava o checkpoint.
+     * @param job job em execução
+     * @param chunk linhas do lote
+     * @param runStartNanos instante de início da execução atual, para o cálculo da vazão
+     * @param rowsAtRunStart linhas já processadas no início da execução atual
+     * @throws IOException em caso de erro na inserção ou na gravação do checkpoint
+     * @throws InterruptedException se a thread for interrompida
+     */
+    private void processChunk(ImportJob job, List<AlertImportRow> chunk, long runStartNanos, long rowsAtRunStart)
+            throws IOException, InterruptedException {
+        List<Future<double[]>> geocoded = new ArrayList<>(chunk.size());
+        for (AlertImportRow row : chunk) {
+            geocoded.add(row.hasCoordinates() ? null : geocodingExecutor.submit(() -> geocodingService.getCoordinatesFromAddress(
+                    row.getStreet(), row.getNeighborhood(), row.getCity(), row.getState(), row.getCountry())));
+        }
+
+        List<Alert> alerts = new ArrayList<>(chunk.size());
+        long withCoordinates = 0;
+        long geocodedRows = 0;
+        long failed = 0;
+        for (int i = 0; i < chunk.size(); i++) {
+            AlertImportRow row = chunk.get(i);
+            double[] coords;
+            if (row.hasCoordinates()) {
+                coords = new double[]{row.getLat(), row.getLongitude()};
+                withCoordinates++;
+            } else {
+                try {
+                    coords = geocoded.get(i).get();
+                } catch (ExecutionException e) {
+                    log.warn("Erro ao geocodificar linha de importação: {}", e.getCause().getMessage());
+                    coords = null;
+                }
+                if (coords == null) {
+                    failed++;
+                    continue;
+                }
+                geocodedRows++;
+            }
+
+            Alert alert = new Alert();
+            alert.setTitle(row.getTitle());
+            alert.setMessage(row.getMessage());
+            alert.setEmailNotification(row.getEmailNotification());
+            alert.setCategory(row.getCategory());
+            alert.setExpiresAt(row.getExpiresAt());
+            alert.setLat(coords[0]);
+            alert.setLongitude(coords[1]);
+            alerts.add(alert);
+        }
+
+        if (Thread.interrupted()) {
+            // Geocodificações canceladas no encerramento não devem ser contadas como falhas
+            throw new InterruptedException();
+        }
+        List<Alert> created = alertService.createAlerts(alerts);
+
+        synchronized (job) {
+            job.setRowsProcessed(job.getRowsProcessed() + chunk.size());
+            job.setRowsInserted(job.getRowsInserted() + created.size());
+            job.setRowsWithCoordinates(job.getRowsWithCoordinates() + withCoordinates);
+            job.setRowsGeocoded(job.getRowsGeocoded() + geocodedRows);
+            job.setRowsFailed(job.getRowsFailed() + failed);
+            double elapsedSeconds = (System.nanoTime() - runStartNanos) / 1_000_000_000.0;
+            job.setRowsPerSecond(elapsedSeconds > 0 ? (job.getRowsProcessed() - rowsAtRunStart) / elapsedSeconds : 0);
+        }
+        persist(job);
+    }
+
+    /**
+     * Grava o estado do job em disco de forma atômica (arquivo temporário + move).
+     * @param job job a ser gravado
+     * @throws IOException em caso de erro de escrita
+     */
+    private void persist(ImportJob job) throws IOException {
+        String json;
+        synchronized (job) {
+            json = gson.toJson(job);
+        }
+        Path target = workPath.resolve(job.getId() + ".json");
+        Path tmp = workPath.resolve(job.getId() + ".json.tmp");
+        Files.writeString(tmp, json, StandardCharsets.UTF_8);
+        Files.move(tmp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private ImportJob snapshot(ImportJob job) {
+        synchronized (job) {
+            return gson.fromJson(gson.toJson(job), ImportJob.class);
+        }
+    }
+
+    private Path dataPath(ImportJob job) {
+        return workPath.resolve(job.getId() + ".data").toAbsolutePath();
+    }
+
+    private String resolveFormat(String format, String fileName) {
+        String candidate = format;
+        if (candidate == null || candidate.isBlank()) {
+            String name = fileName != null ? fileName.toLowerCase(Locale.ROOT) : "";
+            if (name.endsWith(".csv")) {
+                candidate = "csv";
+            } else if (name.endsWith(".geojson") || name.endsWith(".json")) {
+                candidate = "geojson";
+            }
+        }
+        if (candidate != null) {
+            candidate = candidate.trim().toLowerCase(Locale.ROOT);
+            if (candidate.equals("csv") || candidate.equals("geojson")) {
+                return candidate;
+            }
+        }
+        throw new IllegalArgumentException("Formato de importação inválido ou não identificado. Use csv ou geojson.");
+    }
+}
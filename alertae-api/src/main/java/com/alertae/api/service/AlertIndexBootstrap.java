@@ -0,0 +1,160 @@
+package com.alertae.api.service;
+
+import com.alertae.api.dto.AlertFilter;
+import com.alertae.api.model.Alert;
+import com.alertae.api.repository.SupabaseAlertRepository;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+
+/**
+ * Carrega os alertas já existentes no Supabase para as estruturas em memória
+ * ({@link AlertChangeListener}) logo após a inicialização da aplicação.
+ * A carga é feita em segundo plano, página a página, sem atrasar o início do atendimento.
+ * Apenas alertas criados antes do início da carga são lidos; os criados depois chegam pelas notificações normais,
+ * que o {@link AlertChangePublisher} retém até o fim da carga para não aplicá-las sobre alertas ainda não carregados.
+ * <p>
+ * Quando as estruturas podem ter divergido do Supabase (mensagens perdidas entre as instâncias), {@link #reload()}
+ * descarta o estado dos listeners e repete a carga; enquanto ela não termina, {@link #isReady()} retorna false.
+ */
+@Component
+public class AlertIndexBootstrap {
+
+    private static final Logger log = LoggerFactory.getLogger(AlertIndexBootstrap.class);
+
+    private final SupabaseAlertRepository alertRepository;
+    private final AlertChangePublisher changePublisher;
+
+    @Value("${alerts.index.bootstrap.enabled:true}")
+    private boolean enabled;
+
+    @Value("${alerts.index.bootstrap.page-size:1000}")
+    private int pageSize;
+
+    private volatile boolean ready;
+    private boolean running;
+    private boolean reloadRequested;
+
+    /**
+     * Construtor para injeção de dependências.
+     * @param alertRepository repositório de alertas (Supabase)
+     * @param changePublisher publicador das notificações de alertas
+     */
+    @Autowired
+    public AlertIndexBootstrap(SupabaseAlertRepository alertRepository, AlertChangePublisher changePublisher) {
+        this.alertRepository = alertRepository;
+        this.changePublisher = changePublisher;
+    }
+
+    /**
+     * Passa a reter as alterações de alertas antes de a aplicação começar a recebê-las.
+     */
+    @PostConstruct
+    public void init() {
+        if (enabled) {
+            changePublisher.beginLoad();
+        }
+    }
+
+    /**
+     * Inicia a carga em uma thread de segundo plano quando a aplicação estiver pronta.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        if (!changePublisher.hasListeners()) {
+            changePublisher.finishLoad();
+            return;
+        }
+        synchronized (this) {
+            running = true;
+        }
+        startThread();
+    }
+
+    /**
+     * Descarta as estruturas em memória e as carrega novamente do Supabase, em segundo plano.
+     * Se uma carga já estiver em andamento, uma nova é feita assim que ela terminar.
+     */
+    public void reload() {
+        if (!enabled) {
+            log.warn("Nova carga dos índices ignorada: alerts.index.bootstrap.enabled=false.");
+            return;
+        }
+        synchronized (this) {
+            if (running) {
+                reloadRequested = true;
+                return;
+            }
+            running = true;
+        }
+        ready = false;
+        changePublisher.beginReload();
+        startThread();
+    }
+
+    private void startThread() {
+        Thread thread = new Thread(this::load, "alert-index-bootstrap");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * Indica se a última carga foi concluída com sucesso.
+     * @return true se todas as páginas foram carregadas
+     */
+    public boolean isReady() {
+        return ready;
+    }
+
+    private void load() {
+        AlertFilter filter = new AlertFilter();
+        filter.setTo(OffsetDateTime.now(ZoneOffset.UTC).toString());
+        long count = 0;
+        long start = System.nanoTime();
+        boolean complete = false;
+        try {
+            String afterId = null;
+            List<Alert> page;
+            do {
+                page = alertRepository.getAlertsPage(filter, afterId, pageSize);
+                for (Alert alert : page) {
+                    changePublisher.publishLoaded(alert);
+                }
+                count += page.size();
+                if (!page.isEmpty()) {
+                    afterId = page.get(page.size() - 1).getId();
+                }
+            } while (page.size() == pageSize);
+            complete = true;
+            log.info("Carga dos índices concluída: {} alertas em {} ms", count, (System.nanoTime() - start) / 1_000_000);
+        } catch (IOException | RuntimeException e) {
+            log.warn("Falha na carga dos índices após {} alertas: {}", count, e.getMessage());
+        } finally {
+            // As alterações retidas são aplicadas antes de os índices serem considerados prontos
+            changePublisher.finishLoad();
+            ready = complete;
+            boolean again;
+            synchronized (this) {
+                running = false;
+                again = reloadRequested;
+                reloadRequested = false;
+            }
+            if (again) {
+                reload();
+            }
+        }
+    }
+}
@@ -0,0 +1,369 @@
+package com.alertae.api.service;
+
+import com.alertae.api.dto.AlertFilter;
+import com.alertae.api.dto.AlertSearchHit;
+import com.alertae.api.dto.AlertSearchResult;
+import com.alertae.api.model.Alert;
+import com.alertae.api.repository.SupabaseAlertRepository;
+import com.alertae.api.util.PortugueseAnalyzer;
+import com.alertae.api.util.Timestamps;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Busca textual de alertas por título e mensagem, com um índice invertido em memória.
+ * <p>
+ * Os textos passam pelo {@link PortugueseAnalyzer} (acentos, stopwords e radicais) e os resultados são
+ * ordenados por BM25, com peso maior para os termos do título. O índice guarda apenas os termos, o ID,
+ * a posição e a data de cada alerta, de modo que os filtros de área e período são aplicados sem acessar
+ * o Supabase; somente os alertas da página de resultados são carregados (do conjunto ativo em memória
+ * ou, para alertas antigos, do Supabase em uma única requisição).
+ * O índice é atualizado a cada criação, atualização ou exclusão de alerta; documentos excluídos são
+ * marcados e removidos fisicamente quando passam de um quarto do índice.
+ */
+@Service
+@Order(20)
+public class AlertSearchService implements AlertChangeListener {
+
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+    private static final int TITLE_WEIGHT = 2;
+    private static final int MIN_DELETED_TO_COMPACT = 1000;
+
+    private final AlertHotSet hotSet;
+    private final AlertIndexBootstrap bootstrap;
+    private final SupabaseAlertRepository alertRepository;
+
+    @Value("${search.max-results:100}")
+    private int maxResults;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<String, Integer> docById = new HashMap<>();
+    private final Map<String, Postings> postings = new HashMap<>();
+    private final BitSet deleted = new BitSet();
+    private String[] ids = new String[1024];
+    private double[] lats = new double[1024];
+    private double[] lons = new double[1024];
+    private long[] createdAt = new long[1024];
+    private int[] lengths = new int[1024];
+    private int maxDoc;
+    private int liveDocs;
+    private long totalLength;
+
+    /**
+     * Construtor para injeção de dependências.
+     * @param hotSet conjunto dos alertas ativos, usado para montar os resultados sem acessar o Supabase
+     * @param bootstrap carga inicial dos índices, usada para indicar se o índice está completo
+     * @param alertRepository repositório de alertas, para carregar resultados fora do conjunto ativo
+     */
+    @Autowired
+    public AlertSearchService(AlertHotSet hotSet, AlertIndexBootstrap bootstrap, SupabaseAlertRepository alertRepository) {
+        this.hotSet = hotSet;
+        this.bootstrap = bootstrap;
+        this.alertRepository = alertRepository;
+    }
+
+    @Override
+    public void onAlertCreated(Alert alert) {
+        put(alert);
+    }
+
+    @Override
+    public void onAlertUpdated(Alert previous, Alert current) {
+        put(current);
+    }
+
+    @Override
+    public void onAlertDeleted(Alert previous) {
+        if (previous.getId() == null) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            delete(previous.getId());
+            maybeCompact();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void onAlertsReset() {
+        lock.writeLock().lock();
+        try {
+            docById.clear();
+            postings.clear();
+            deleted.clear();
+            Arrays.fill(ids, 0, maxDoc, null);
+            maxDoc = 0;
+            liveDocs = 0;
+            totalLength = 0;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Busca alertas pelos termos informados, opcionalmente restritos a uma área e a um período.
+     * @param query texto da busca
+     * @param filter filtros de área e período (opcionais)
+     * @param limit quantidade máxima de resultados
+     * @return resultados ordenados por relevância
+     * @throws IllegalArgumentException se a busca não tiver termos válidos
+     * @throws IOException em caso de erro ao carregar alertas do Supabase
+     */
+    public AlertSearchResult search(String query, AlertFilter filter, int limit) throws IOException {
+        List<String> terms = new ArrayList<>(new LinkedHashSet<>(PortugueseAnalyzer.analyze(query)));
+        if (terms.isEmpty()) {
+            throw new IllegalArgumentException("Informe ao menos um termo de busca.");
+        }
+        if (limit < 1 || limit > maxResults) {
+            throw new IllegalArgumentException("Limite inválido: " + limit + ". Use valores entre 1 e " + maxResults + ".");
+        }
+        Long fromMillis = Timestamps.parseEpochMillis(filter.getFrom());
+        Long toMillis = Timestamps.parseEpochMillis(filter.getTo());
+
+        long start = System.nanoTime();
+        List<String> hitIds = new ArrayList<>();
+        List<Double> hitScores = new ArrayList<>();
+        int total = 0;
+        lock.readLock().lock();
+        try {
+            if (liveDocs > 0) {
+                // Apenas os documentos das listas dos termos recebem pontuação; o custo não depende do tamanho do índice
+                Map<Integer, Double> scores = new HashMap<>();
+                double avgLength = (double) totalLength / liveDocs;
+                for (String term : terms) {
+                    Postings list = postings.get(term);
+                    if (list == null) {
+                        continue;
+                    }
+                    // As listas ainda contêm os documentos excluídos até a compactação; contá-los também no total
+                    // mantém o idf positivo
+                    double idf = Math.log(1 + (maxDoc - list.size + 0.5) / (list.size + 0.5));
+                    for (int i = 0; i < list.size; i++) {
+                        int doc = list.docs[i];
+                        if (deleted.get(doc)) {
+                            continue;
+                        }
+                        int tf = list.freqs[i];
+                        double norm = K1 * (1 - B + B * lengths[doc] / avgLength);
+                        scores.merge(doc, idf * tf * (K1 + 1) / (tf + norm), Double::sum);
+                    }
+                }
+
+                PriorityQueue<Map.Entry<Integer, Double>> top = new PriorityQueue<>(limit + 1,
+                        Map.Entry.<Integer, Double>comparingByValue().thenComparing(Map.Entry.comparingByKey()));
+                for (Map.Entry<Integer, Double> hit : scores.entrySet()) {
+                    if (!matches(hit.getKey(), filter, fromMillis, toMillis)) {
+                        continue;
+                    }
+                    total++;
+                    top.add(hit);
+                    if (top.size() > limit) {
+                        top.poll();
+                    }
+                }
+                while (!top.isEmpty()) {
+                    Map.Entry<Integer, Double> hit = top.poll();
+                    hitIds.add(0, ids[hit.getKey()]);
+                    hitScores.add(0, hit.getValue());
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        double tookMillis = (System.nanoTime() - start) / 1_000_000.0;
+
+        Map<String, Alert> alerts = load(hitIds);
+        List<AlertSearchHit> results = new ArrayList<>(hitIds.size());
+        for (int i = 0; i < hitIds.size(); i++) {
+            Alert alert = alerts.get(hitIds.get(i));
+            if (alert != null) {
+                results.add(new AlertSearchHit(Math.round(hitScores.get(i) * 1000.0) / 1000.0, alert));
+            }
+        }
+        return new AlertSearchResult(terms, total, bootstrap.isReady(), Math.round(tookMillis * 100.0) / 100.0, results);
+    }
+
+    /**
+     * Quantidade de alertas no índice.
+     * @return número de alertas indexados
+     */
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return liveDocs;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private boolean matches(int doc, AlertFilter filter, Long fromMillis, Long toMillis) {
+        if (filter.hasBbox()) {
+            double lat = lats[doc];
+            double lon = lons[doc];
+            if (Double.isNaN(lat) || lat < filter.getMinLat() || lat > filter.getMaxLat()
+                    || lon < filter.getMinLon() || lon > filter.getMaxLon()) {
+                return false;
+            }
+        }
+        return (fromMillis == null || createdAt[doc] >= fromMillis) && (toMillis == null || createdAt[doc] < toMillis);
+    }
+
+    /**
+     * Carrega os alertas dos resultados: primeiro do conjunto ativo, depois do Supabase.
+     */
+    private Map<String, Alert> load(List<String> hitIds) throws IOException {
+        Map<String, Alert> alerts = new LinkedHashMap<>();
+        List<String> missing = new ArrayList<>();
+        for (String id : hitIds) {
+            Alert alert = hotSet.get(id);
+            if (alert != null) {
+                alerts.put(id, alert);
+            } else {
+                missing.add(id);
+            }
+        }
+        for (Alert alert : alertRepository.getAlertsByIds(missing)) {
+            alerts.put(alert.getId(), alert);
+        }
+        return alerts;
+    }
+
+    private void put(Alert alert) {
+        if (alert.getId() == null) {
+            return;
+        }
+        Map<String, Integer> frequencies = new HashMap<>();
+        int length = 0;
+        for (String term : PortugueseAnalyzer.analyze(alert.getTitle())) {
+            frequencies.merge(term, TITLE_WEIGHT, Integer::sum);
+            length += TITLE_WEIGHT;
+        }
+        for (String term : PortugueseAnalyzer.analyze(alert.getMessage())) {
+            frequencies.merge(term, 1, Integer::sum);
+            length++;
+        }
+
+        lock.writeLock().lock();
+        try {
+            delete(alert.getId());
+            if (frequencies.isEmpty()) {
+                return;
+            }
+            int doc = maxDoc++;
+            if (doc == ids.length) {
+                grow(doc * 2);
+            }
+            ids[doc] = alert.getId();
+            lats[doc] = alert.getLat() != null && alert.getLongitude() != null ? alert.getLat() : Double.NaN;
+            lons[doc] = alert.getLongitude() != null ? alert.getLongitude() : Double.NaN;
+            createdAt[doc] = Timestamps.createdAtMillis(alert.getCreatedAt());
+            lengths[doc] = length;
+            for (Map.Entry<String, Integer> entry : frequencies.entrySet()) {
+                postings.computeIfAbsent(entry.getKey(), k -> new Postings()).add(doc, entry.getValue());
+            }
+            docById.put(alert.getId(), doc);
+            liveDocs++;
+            totalLength += length;
+            maybeCompact();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void delete(String id) {
+        Integer doc = docById.remove(id);
+        if (doc != null) {
+            deleted.set(doc);
+            liveDocs--;
+            totalLength -= lengths[doc];
+        }
+    }
+
+    /**
+     * Remove fisicamente os documentos excluídos, renumerando os demais, quando eles passam de um quarto do índice.
+     */
+    private void maybeCompact() {
+        int deletedCount = maxDoc - liveDocs;
+        if (deletedCount < MIN_DELETED_TO_COMPACT || deletedCount * 4 < maxDoc) {
+            return;
+        }
+        int[] mapping = new int[maxDoc];
+        int next = 0;
+        for (int doc = 0; doc < maxDoc; doc++) {
+            if (deleted.get(doc)) {
+                mapping[doc] = -1;
+                continue;
+            }
+            mapping[doc] = next;
+            ids[next] = ids[doc];
+            lats[next] = lats[doc];
+            lons[next] = lons[doc];
+            createdAt[next] = createdAt[doc];
+            lengths[next] = lengths[doc];
+            docById.put(ids[next], next);
+            next++;
+        }
+        Arrays.fill(ids, next, maxDoc, null);
+        postings.values().removeIf(list -> list.remap(mapping) == 0);
+        deleted.clear();
+        maxDoc = next;
+    }
+
+    private void grow(int capacity) {
+        ids = Arrays.copyOf(ids, capacity);
+        lats = Arrays.copyOf(lats, capacity);
+        lons = Arrays.copyOf(lons, capacity);
+        createdAt = Arrays.copyOf(createdAt, capacity);
+        lengths = Arrays.copyOf(lengths, capacity);
+    }
+
+    /**
+     * Lista de documentos (em ordem crescente) e frequências de um termo.
+     */
+    private static final class Postings {
+        int[] docs = new int[4];
+        int[] freqs = new int[4];
+        int size;
+
+        void add(int doc, int freq) {
+            if (size == docs.length) {
+                docs = Arrays.copyOf(docs, size * 2);
+                freqs = Arrays.copyOf(freqs, size * 2);
+            }
+            docs[size] = doc;
+            freqs[size] = freq;
+            size++;
+        }
+
+        int remap(int[] mapping) {
+            int next = 0;
+            for (int i = 0; i < size; i++) {
+                int doc = mapping[docs[i]];
+                if (doc >= 0) {
+                    docs[next] = doc;
+                    freqs[next] = freqs[i];
+                    next++;
+                }
+            }
+            size = next;
+            return size;
+        }
+    }
+}
@@ -1,12 +1,18 @@
 package com.alertae.api.service;
 
 import com.alertae.api.dto.AddressRequest;
+import com.alertae.api.dto.AlertFilter;
 import com.alertae.api.model.Alert;
 import com.alertae.api.repository.SupabaseAlertRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import java.io.IOException;
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
 import java.util.List;
 
 /**
@@ -19,16 +25,32 @@ public class AlertService {
 
     private final SupabaseAlertRepository alertRepository;
     private final GeocodingService geocodingService;
+    private final AlertChangePublisher changePublisher;
+    private final AlertHotSet hotSet;
+    private final AlertExpiryService expiryService;
+
+    @Value("${alerts.hot-set.enabled:true}")
+    private boolean hotSetEnabled;
+
+    @Value("${alerts.index.bootstrap.page-size:1000}")
+    private int pageSize;
 
     /**
      * Construtor para injeção de dependências.
      * @param alertRepository repositório de alertas (Supabase)
      * @param geocodingService serviço de geocodificação de endereços
+     * @param changePublisher publicador das alterações para os índices em memória
+     * @param hotSet conjunto em memória dos alertas ativos
+     * @param expiryService serviço de expiração de alertas
      */
     @Autowired
-    public AlertService(SupabaseAlertRepository alertRepository, GeocodingService geocodingService) {
+    public AlertService(SupabaseAlertRepository alertRepository, GeocodingService geocodingService,
+                        AlertChangePublisher changePublisher, AlertHotSet hotSet, AlertExpiryService expiryService) {
         this.alertRepository = alertRepository;
         this.geocodingService = geocodingService;
+        this.changePublisher = changePublisher;
+        this.hotSet = hotSet;
+        this.expiryService = expiryService;
     }
 
     /**
@@ -60,27 +82,86 @@ public class AlertService {
         alert.setEmailNotification(addressRequest.getEmailNotification());
         alert.setLat(coords[0]);
         alert.setLongitude(coords[1]);
+        alert.setCategory(addressRequest.getCategory());
+        alert.setExpiresAt(addressRequest.getExpiresAt());
+        expiryService.applyDefaultExpiry(alert);
 
-        return alertRepository.createAlert(alert);
+        Alert created = alertRepository.createAlert(alert);
+        changePublisher.publishCreated(created, addressRequest.getCity(), addressRequest.getState());
+        return created;
     }
 
     /**
-     * Retorna todos os alertas cadastrados.
-     * @return lista de alertas
+     * Cria vários alertas já geocodificados em uma única inserção em lote.
+     * @param alerts alertas com coordenadas preenchidas
+     * @return alertas criados
+     * @throws IOException em caso de erro de comunicação com o Supabase
+     */
+    public List<Alert> createAlerts(List<Alert> alerts) throws IOException {
+        for (Alert alert : alerts) {
+            expiryService.applyDefaultExpiry(alert);
+        }
+        List<Alert> created = alertRepository.createAlerts(alerts);
+        for (Alert alert : created) {
+            changePublisher.publishCreated(alert);
+        }
+        return created;
+    }
+
+    /**
+     * Retorna os alertas ativos (não expirados e, se configurada, criados dentro da janela {@code alerts.hot-set.window}).
+     * Após a carga inicial a consulta é atendida pelo conjunto em memória, sem acessar o Supabase;
+     * antes disso, busca os alertas no Supabase página a página.
+     * @return lista de alertas ativos
      * @throws IOException em caso de erro de comunicação com o Supabase
      */
     public List<Alert> getAllAlerts() throws IOException {
+        if (!hotSetEnabled) {
+            return alertRepository.getAllAlerts();
+        }
+        if (hotSet.isReady()) {
+            return hotSet.getActiveAlerts();
+        }
+        AlertFilter filter = new AlertFilter();
+        Duration window = hotSet.getWindow();
+        if (window != null) {
+            filter.setFrom(OffsetDateTime.now(ZoneOffset.UTC).minus(window).toString());
+        }
+        List<Alert> active = new ArrayList<>();
+        String afterId = null;
+        List<Alert> page;
+        do {
+            page = alertRepository.getAlertsPage(filter, afterId, pageSize);
+            for (Alert alert : page) {
+                if (hotSet.isActive(alert)) {
+                    active.add(alert);
+                }
+            }
+            if (!page.isEmpty()) {
+                afterId = page.get(page.size() - 1).getId();
+            }
+        } while (page.size() == pageSize);
+        return active;
+    }
+
+    /**
+     * Retorna todos os alertas cadastrados, incluindo o histórico completo.
+     * @return lista de alertas
+     * @throws IOException em caso de erro de comunicação com o Supabase
+     */
+    public List<Alert> getAllAlertsIncludingHistory() throws IOException {
         return alertRepository.getAllAlerts();
     }
 
     /**
-     * Busca um alerta pelo seu ID.
+     * Busca um alerta pelo seu ID, consultando primeiro o conjunto de alertas ativos em memória.
      * @param id identificador do alerta
      * @return alerta encontrado ou null se não existir
      * @throws IOException em caso de erro de comunicação com o Supabase
      */
     public Alert getAlertById(String id) throws IOException {
-        return alertRepository.getAlertById(id);
+        Alert alert = hotSet.get(id);
+        return alert != null ? alert : alertRepository.getAlertById(id);
     }
 
     /**
@@ -91,7 +172,12 @@ public class AlertService {
      * @throws IOException em caso de erro de comunicação com o Supabase
      */
     public Alert updateAlert(String id, Alert alert) throws IOException {
-        return alertRepository.updateAlert(id, alert);
+        Alert previous = changePublisher.hasListeners() ? getAlertById(id) : null;
+        Alert updated = alertRepository.updateAlert(id, alert);
+        if (updated != null) {
+            changePublisher.publishUpdated(previous, updated);
+        }
+        return updated;
     }
 
     /**
@@ -100,6 +186,10 @@ public class AlertService {
      * @throws IOException em caso de erro de comunicação com o Supabase
      */
     public void deleteAlert(String id) throws IOException {
+        Alert previous = changePublisher.hasListeners() ? getAlertById(id) : null;
         alertRepository.deleteAlert(id);
+        if (previous != null) {
+            changePublisher.publishDeleted(previous);
+        }
     }
 }
\ No newline at end of file
@@ -0,0 +1,546 @@
+package com.alertae.api.service;
+
+import com.alertae.api.dto.AlertStatsGroup;
+import com.alertae.api.dto.AlertStatsResult;
+import com.alertae.api.model.Alert;
+import com.alertae.api.util.Geohash;
+import com.alertae.api.util.PortugueseAnalyzer;
+import com.alertae.api.util.Timestamps;
+import com.google.gson.Gson;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParseException;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Estatísticas de volume de alertas (alertas por minuto, hora e dia), agregadas por cidade, região (UF)
+ * e célula geohash à medida que os alertas são criados, nesta ou nas demais instâncias (a cidade e a UF
+ * chegam junto com a criação, pelo {@link AlertChangePublisher}).
+ * <p>
+ * Cada grupo mantém, para cada resolução, um buffer circular de intervalos de tempo. Cada posição guarda,
+ * em um único {@code long}, o índice do intervalo e a sua contagem; o incremento é feito por compare-and-set,
+ * sem locks, e uma posição ocupada por um intervalo antigo é reaproveitada pelo intervalo novo. As consultas
+ * percorrem no máximo o tamanho do buffer de cada grupo, independentemente da quantidade de alertas.
+ * <p>
+ * Os buffers são gravados em disco ({@code stats.snapshot-file}) no encerramento e periodicamente, e
+ * recarregados na inicialização. Grupos sem contagens dentro da retenção são descartados ao gravar o snapshot
+ * e quando o limite {@code stats.max-keys} é atingido.
+ */
+@Service
+public class AlertStatsService implements AlertChangeListener {
+
+    private static final Logger log = LoggerFactory.getLogger(AlertStatsService.class);
+
+    /**
+     * Resolução dos intervalos de tempo.
+     */
+    public enum Resolution {
+        MINUTE(60_000L, 60), HOUR(3_600_000L, 24), DAY(86_400_000L, 30);
+
+        private final long bucketMillis;
+        private final int defaultBuckets;
+
+        Resolution(long bucketMillis, int defaultBuckets) {
+            this.bucketMillis = bucketMillis;
+            this.defaultBuckets = defaultBuckets;
+        }
+    }
+
+    /**
+     * Dimensão de agrupamento.
+     */
+    public enum Dimension {
+        NONE, CITY, REGION, GEOHASH
+    }
+
+    private static final int COUNT_BITS = 24;
+    private static final long COUNT_MASK = (1L << COUNT_BITS) - 1;
+    private static final String TOTAL_KEY = "total";
+    private static final String OTHER_KEY = "outros";
+    private static final int SNAPSHOT_VERSION = 1;
+
+    /**
+     * Valor gravado em todas as posições de um grupo sendo descartado; nenhum intervalo real o produz.
+     */
+    private static final long RETIRED = -1L;
+
+    private final Gson gson;
+
+    @Value("${stats.minute-buckets:180}")
+    private int minuteBuckets;
+
+    @Value("${stats.hour-buckets:168}")
+    private int hourBuckets;
+
+    @Value("${stats.day-buckets:90}")
+    private int dayBuckets;
+
+    @Value("${stats.geohash-precision:4}")
+    private int geohashPrecision;
+
+    @Value("${stats.max-keys:2000}")
+    private int maxKeys;
+
+    @Value("${stats.max-groups:100}")
+    private int maxGroups;
+
+    @Value("${stats.snapshot-file:data/stats/rollups.json}")
+    private String snapshotFile;
+
+    private int[] ringSizes;
+    private final Map<Dimension, Map<String, Series>> series = new EnumMap<>(Dimension.class);
+
+    /**
+     * Minuto da última limpeza feita por ter atingido {@code stats.max-keys}, por dimensão.
+     */
+    private final Map<Dimension, AtomicLong> lastEvictionMinute = new EnumMap<>(Dimension.class);
+
+    /**
+     * Construtor para injeção de dependências.
+     * @param gson serializador JSON do snapshot
+     */
+    @Autowired
+    public AlertStatsService(Gson gson) {
+        this.gson = gson;
+        for (Dimension dimension : Dimension.values()) {
+            series.put(dimension, new ConcurrentHashMap<>());
+            lastEvictionMinute.put(dimension, new AtomicLong(Long.MIN_VALUE));
+        }
+    }
+
+    /**
+     * Cria os buffers e recarrega o último snapshot.
+     */
+    @PostConstruct
+    public void init() {
+        if (minuteBuckets < 1 || hourBuckets < 1 || dayBuckets < 1) {
+            throw new IllegalStateException("stats.minute-buckets, stats.hour-buckets e stats.day-buckets devem ser positivos.");
+        }
+        ringSizes = new int[]{minuteBuckets, hourBuckets, dayBuckets};
+        loadSnapshot();
+        evictExpired();
+    }
+
+    /**
+     * Grava o snapshot no encerramento da aplicação.
+     */
+    @PreDestroy
+    public void shutdown() {
+        saveSnapshot();
+    }
+
+    /**
+     * Grava o snapshot periodicamente ({@code stats.snapshot-interval}), limitando a perda em caso de queda.
+     */
+    @Scheduled(fixedDelayString = "${stats.snapshot-interval:PT5M}", initialDelayString = "${stats.snapshot-interval:PT5M}")
+    public void saveSnapshot() {
+        evictExpired();
+        Path path = Paths.get(snapshotFile);
+        try {
+            Path parent = path.toAbsolutePath().getParent();
+            if (parent != null) {
+                Files.createDirectories(parent);
+            }
+            Path tmp = path.resolveSibling(path.getFileName() + ".tmp");
+            Files.writeString(tmp, gson.toJson(toSnapshot()), StandardCharsets.UTF_8);
+            Files.move(tmp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            log.warn("Falha ao gravar o snapshot das estatísticas em {}: {}", path, e.getMessage());
+        }
+    }
+
+    /**
+     * Contabiliza um alerta criado sem endereço informado (importação em lote): entra no total e no geohash.
+     * @param alert alerta criado
+     */
+    @Override
+    public void onAlertCreated(Alert alert) {
+        apply(alert, null, null);
+    }
+
+    /**
+     * Contabiliza um alerta criado pela API, nesta ou em outra instância.
+     * @param alert alerta criado, com created_at e coordenadas
+     * @param city cidade informada na criação (opcional)
+     * @param region UF/região informada na criação (opcional)
+     */
+    @Override
+    public void onAlertCreated(Alert alert, String city, String region) {
+        apply(alert, city, region);
+    }
+
+    /**
+     * As contagens são de criações; atualizações não as alteram.
+     */
+    @Override
+    public void onAlertUpdated(Alert previous, Alert current) {
+    }
+
+    /**
+     * As contagens são de criações; exclusões não as alteram.
+     */
+    @Override
+    public void onAlertDeleted(Alert previous) {
+    }
+
+    /**
+     * As contagens não vêm do Supabase (a cidade e a UF não são gravadas) e sobrevivem às recargas.
+     */
+    @Override
+    public void onAlertsReset() {
+    }
+
+    /**
+     * Recebe somente as criações, no momento em que ocorrem, sem participar das cargas dos índices.
+     * @return false
+     */
+    @Override
+    public boolean holdsAlertState() {
+        return false;
+    }
+
+    /**
+     * Consulta o volume de alertas em um período, agrupado pela dimensão informada.
+     * @param groupBy agrupamento: none, city, region ou geohash (padrão none)
+     * @param resolution resolução: minute, hour ou day (padrão hour)
+     * @param from data/hora inicial ISO-8601 (padrão: 60 minutos, 24 horas ou 30 dias antes de {@code to})
+     * @param to data/hora final ISO-8601, exclusiva (padrão: agora)
+     * @param limit quantidade máxima de grupos
+     * @return contagens por intervalo dos grupos com mais alertas
+     * @throws IllegalArgumentException se algum parâmetro for inválido
+     */
+    public AlertStatsResult getStats(String groupBy, String resolution, String from, String to, int limit) {
+        Dimension dimension = parseEnum(Dimension.class, groupBy, Dimension.NONE, "groupBy");
+        Resolution res = parseEnum(Resolution.class, resolution, Resolution.HOUR, "resolution");
+        if (limit < 1) {
+            throw new IllegalArgumentException("limit deve ser maior que zero.");
+        }
+        int ringSize = ringSizes[res.ordinal()];
+        long bucketMillis = res.bucketMillis;
+        long currentBucket = Math.floorDiv(System.currentTimeMillis(), bucketMillis);
+
+        Long toMillis = Timestamps.parseEpochMillis(to);
+        long toBucket = toMillis != null ? Math.floorDiv(toMillis - 1, bucketMillis) : currentBucket;
+        Long fromMillis = Timestamps.parseEpochMillis(from);
+        long fromBucket = fromMillis != null ? Math.floorDiv(fromMillis, bucketMillis)
+                : toBucket - Math.min(res.defaultBuckets, ringSize) + 1;
+        if (fromBucket > toBucket) {
+            throw new IllegalArgumentException("Período inválido: from deve ser anterior a to.");
+        }
+        boolean complete = true;
+        long oldestBucket = currentBucket - ringSize + 1;
+        if (fromBucket < oldestBucket) {
+            fromBucket = oldestBucket;
+            complete = false;
+        }
+        toBucket = Math.min(toBucket, currentBucket);
+        int length = (int) Math.max(0, toBucket - fromBucket + 1);
+
+        List<AlertStatsGroup> groups = new ArrayList<>();
+        for (Series s : series.get(dimension).values()) {
+            long[] counts = new long[length];
+            long total = 0;
+            for (int i = 0; i < length; i++) {
+                counts[i] = s.count(res, fromBucket + i);
+                total += counts[i];
+            }
+            if (total > 0) {
+                groups.add(new AlertStatsGroup(s.key, s.label, total, counts));
+            }
+        }
+        groups.sort(Comparator.comparingLong(AlertStatsGroup::getTotal).reversed().thenComparing(AlertStatsGroup::getKey));
+        long total = 0;
+        for (AlertStatsGroup group : groups) {
+            total += group.getTotal();
+        }
+        int totalGroups = groups.size();
+        List<AlertStatsGroup> top = new ArrayList<>(groups.subList(0, Math.min(totalGroups, Math.min(limit, maxGroups))));
+
+        return new AlertStatsResult(dimension.name().toLowerCase(Locale.ROOT), res.name().toLowerCase(Locale.ROOT),
+                Instant.ofEpochMilli(fromBucket * bucketMillis).toString(),
+                Instant.ofEpochMilli((fromBucket + length) * bucketMillis).toString(),
+                complete, total, totalGroups, top);
+    }
+
+    private void apply(Alert alert, String city, String region) {
+        long millis = Timestamps.createdAtMillis(alert.getCreatedAt());
+        increment(Dimension.NONE, TOTAL_KEY, "Total", millis, 1);
+        String regionKey = normalize(region);
+        String cityKey = normalize(city);
+        if (cityKey != null) {
+            String key = regionKey != null ? cityKey + "/" + regionKey : cityKey;
+            String label = region != null && !region.isBlank() ? city.trim() + " - " + region.trim() : city.trim();
+            increment(Dimension.CITY, key, label, millis, 1);
+        }
+        if (regionKey != null) {
+            increment(Dimension.REGION, regionKey, region.trim(), millis, 1);
+        }
+        if (alert.getLat() != null && alert.getLongitude() != null) {
+            String hash = Geohash.encode(alert.getLat(), alert.getLongitude(), geohashPrecision);
+            increment(Dimension.GEOHASH, hash, hash, millis, 1);
+        }
+    }
+
+    private void increment(Dimension dimension, String key, String label, long millis, long delta) {
+        Series s = seriesFor(dimension, key, label);
+        for (Resolution res : Resolution.values()) {
+            long bucket = Math.floorDiv(millis, res.bucketMillis);
+            while (!s.add(res, bucket, delta)) {
+                // Grupo sendo descartado: usa o que o substituiu (ou o mesmo, se o descarte foi desfeito)
+                Thread.onSpinWait();
+                s = seriesFor(dimension, key, label);
+            }
+        }
+    }
+
+    private Series seriesFor(Dimension dimension, String key, String label) {
+        Map<String, Series> byKey = series.get(dimension);
+        Series s = byKey.get(key);
+        if (s != null) {
+            return s;
+        }
+        if (byKey.size() >= maxKeys) {
+            // Antes de somar em "outros", descarta os grupos sem contagens na retenção (no máximo uma vez por minuto)
+            AtomicLong last = lastEvictionMinute.get(dimension);
+            long minute = Math.floorDiv(System.currentTimeMillis(), Resolution.MINUTE.bucketMillis);
+            long previous = last.get();
+            if (previous != minute && last.compareAndSet(previous, minute)) {
+                evictExpired(dimension);
+            }
+        }
+        if (byKey.size() >= maxKeys) {
+            // Limita a memória: grupos além de stats.max-keys são somados em "outros"
+            return byKey.computeIfAbsent(OTHER_KEY, k -> new Series(k, "Outros", ringSizes));
+        }
+        return byKey.computeIfAbsent(key, k -> new Series(k, label, ringSizes));
+    }
+
+    /**
+     * Descarta, em todas as dimensões, os grupos sem nenhuma contagem dentro da retenção.
+     */
+    void evictExpired() {
+        for (Dimension dimension : Dimension.values()) {
+            evictExpired(dimension);
+        }
+    }
+
+    private void evictExpired(Dimension dimension) {
+        long now = System.currentTimeMillis();
+        long[] oldestBuckets = new long[ringSizes.length];
+        for (Resolution res : Resolution.values()) {
+            oldestBuckets[res.ordinal()] = Math.floorDiv(now, res.bucketMillis) - ringSizes[res.ordinal()] + 1;
+        }
+        Map<String, Series> byKey = series.get(dimension);
+        // Um descarte por vez em cada dimensão: dois poderiam desfazer as marcas um do outro
+        synchronized (byKey) {
+            for (Series s : byKey.values()) {
+                if (s.retire(oldestBuckets)) {
+                    byKey.remove(s.key, s);
+                }
+            }
+        }
+    }
+
+    private static String normalize(String value) {
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        return PortugueseAnalyzer.fold(value.trim()).replaceAll("\\s+", " ");
+    }
+
+    private static <E extends Enum<E>> E parseEnum(Class<E> type, String value, E defaultValue, String name) {
+        if (value == null || value.isBlank()) {
+            return defaultValue;
+        }
+        try {
+            return Enum.valueOf(type, value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Valor inválido para " + name + ": " + value);
+        }
+    }
+
+    private JsonObject toSnapshot() {
+        JsonObject root = new JsonObject();
+        root.addProperty("version", SNAPSHOT_VERSION);
+        root.addProperty("savedAt", Instant.now().toString());
+        JsonObject dimensions = new JsonObject();
+        for (Map.Entry<Dimension, Map<String, Series>> entry : series.entrySet()) {
+            JsonArray list = new JsonArray();
+            for (Series s : entry.getValue().values()) {
+                list.add(s.toJson());
+            }
+            dimensions.add(entry.getKey().name(), list);
+        }
+        root.add("dimensions", dimensions);
+        return root;
+    }
+
+    private void loadSnapshot() {
+        Path path = Paths.get(snapshotFile);
+        if (!Files.exists(path)) {
+            return;
+        }
+        try {
+            JsonObject root = gson.fromJson(Files.readString(path, StandardCharsets.UTF_8), JsonObject.class);
+            if (root == null || !root.has("version") || root.get("version").getAsInt() != SNAPSHOT_VERSION) {
+                log.warn("Snapshot das estatísticas em {} ignorado (versão incompatível).", path);
+                return;
+            }
+            JsonObject dimensions = root.getAsJsonObject("dimensions");
+            int loaded = 0;
+            for (Dimension dimension : Dimension.values()) {
+                JsonArray list = dimensions.getAsJsonArray(dimension.name());
+                if (list == null) {
+                    continue;
+                }
+                for (JsonElement element : list) {
+                    JsonObject item = element.getAsJsonObject();
+                    Series s = seriesFor(dimension, item.get("key").getAsString(), item.get("label").getAsString());
+                    for (Resolution res : Resolution.values()) {
+                        JsonArray buckets = item.getAsJsonArray(res.name());
+                        for (int i = 0; buckets != null && i + 1 < buckets.size(); i += 2) {
+                            s.add(res, buckets.get(i).getAsLong(), buckets.get(i + 1).getAsLong());
+                        }
+                    }
+                    loaded++;
+                }
+            }
+            log.info("Estatísticas recarregadas de {} ({} séries, gravadas em {}).", path, loaded, root.get("savedAt").getAsString());
+        } catch (IOException | JsonParseException | IllegalStateException | NullPointerException e) {
+            log.warn("Falha ao ler o snapshot das estatísticas em {}: {}", path, e.getMessage());
+        }
+    }
+
+    /**
+     * Contagens de um grupo: um buffer circular por resolução.
+     */
+    private static final class Series {
+
+        private final String key;
+        private final String label;
+        private final AtomicLongArray[] rings;
+
+        Series(String key, String label, int[] ringSizes) {
+            this.key = key;
+            this.label = label;
+            this.rings = new AtomicLongArray[ringSizes.length];
+            for (int i = 0; i < ringSizes.length; i++) {
+                rings[i] = new AtomicLongArray(ringSizes[i]);
+            }
+        }
+
+        /**
+         * Soma {@code delta} ao intervalo informado. Se a posição guarda um intervalo mais antigo, ele é
+         * substituído; se guarda um mais novo, o intervalo informado já saiu da retenção e é ignorado.
+         * @return false se o grupo está sendo descartado e nada foi somado
+         */
+        boolean add(Resolution res, long bucket, long delta) {
+            AtomicLongArray ring = rings[res.ordinal()];
+            int slot = (int) Math.floorMod(bucket, (long) ring.length());
+            while (true) {
+                long packed = ring.get(slot);
+                if (packed == RETIRED) {
+                    return false;
+                }
+                long slotBucket = packed >>> COUNT_BITS;
+                long next;
+                if (slotBucket == bucket) {
+                    next = (bucket << COUNT_BITS) | Math.min(COUNT_MASK, (packed & COUNT_MASK) + delta);
+                } else if (slotBucket < bucket) {
+                    next = (bucket << COUNT_BITS) | Math.min(COUNT_MASK, delta);
+                } else {
+                    return true;
+                }
+                if (ring.compareAndSet(slot, packed, next)) {
+                    return true;
+                }
+            }
+        }
+
+        /**
+         * Marca todas as posições como descartadas se nenhuma tem contagem dentro da retenção. Uma soma
+         * concorrente ou impede o descarte (a posição tem um intervalo recente) ou encontra a marca e é refeita
+         * no grupo que substituir este.
+         * @param oldestBuckets intervalo mais antigo ainda retido, por resolução
+         * @return true se o grupo foi descartado e pode ser removido
+         */
+        boolean retire(long[] oldestBuckets) {
+            for (int r = 0; r < rings.length; r++) {
+                AtomicLongArray ring = rings[r];
+                for (int slot = 0; slot < ring.length(); slot++) {
+                    long packed = ring.get(slot);
+                    boolean retained = packed != 0 && packed != RETIRED && (packed >>> COUNT_BITS) >= oldestBuckets[r];
+                    if (retained || !ring.compareAndSet(slot, packed, RETIRED)) {
+                        restore(r, slot);
+                        return false;
+                    }
+                }
+            }
+            return true;
+        }
+
+        /**
+         * Desfaz um descarte interrompido: as posições já marcadas (anteriores a {@code ring}/{@code slot})
+         * voltam a ficar vazias, pois só guardavam intervalos fora da retenção.
+         */
+        private void restore(int ringIndex, int slotLimit) {
+            for (int r = 0; r <= ringIndex; r++) {
+                AtomicLongArray ring = rings[r];
+                int limit = r < ringIndex ? ring.length() : slotLimit;
+                for (int slot = 0; slot < limit; slot++) {
+                    ring.compareAndSet(slot, RETIRED, 0);
+                }
+            }
+        }
+
+        long count(Resolution res, long bucket) {
+            AtomicLongArray ring = rings[res.ordinal()];
+            long packed = ring.get((int) Math.floorMod(bucket, (long) ring.length()));
+            return (packed >>> COUNT_BITS) == bucket ? packed & COUNT_MASK : 0;
+        }
+
+        JsonObject toJson() {
+            JsonObject item = new JsonObject();
+            item.addProperty("key", key);
+            item.addProperty("label", label);
+            for (Resolution res : Resolution.values()) {
+                AtomicLongArray ring = rings[res.ordinal()];
+                JsonArray buckets = new JsonArray();
+                for (int i = 0; i < ring.length(); i++) {
+                    long packed = ring.get(i);
+                    if (packed != 0 && packed != RETIRED) {
+                        buckets.add(packed >>> COUNT_BITS);
+                        buckets.add(packed & COUNT_MASK);
+                    }
+                }
+                item.add(res.name(), buckets);
+            }
+            return item;
+        }
+    }
+}
@@ -0,0 +1,408 @@
+package com.alertae.api.service;
+
+import com.alertae.api.dto.TileStats;
+import com.alertae.api.model.Alert;
+import com.alertae.api.util.MvtEncoder;
+import com.alertae.api.util.TileMath;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Service;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Serviço que gera Mapbox Vector Tiles (MVT) com os alertas para o mapa.
+ * <p>
+ * Os alertas ficam em um índice espacial em memória ordenado pela curva de Morton (Z-order) no zoom
+ * {@value #INDEX_ZOOM}, de forma que os alertas de qualquer tile z/x/y formam um intervalo contínuo do índice.
+ * Tiles com até {@code tiles.max-features} alertas trazem um ponto por alerta, só com o que o mapa exibe
+ * (id, título e categoria; os tiles são públicos e ficam em cache); tiles mais densos trazem
+ * pontos agrupados por célula (propriedade {@code count}), o que mantém o tamanho de cada tile limitado.
+ * As contagens por célula dos zooms 0 a {@code tiles.cluster.max-zoom} são mantidas junto com o índice;
+ * nos zooms maiores são calculadas a partir do intervalo do tile.
+ * Os tiles gerados ficam em um cache LRU, invalidado a cada criação, atualização ou exclusão de alerta.
+ * Apenas os alertas ativos ({@link AlertHotSet}) são indexados; alertas antigos ou expirados saem do índice.
+ */
+@Service
+@Order(100)
+public class AlertTileService implements AlertChangeListener {
+
+    /**
+     * Zoom da grade usada para ordenar o índice espacial (24 bits por eixo).
+     */
+    static final int INDEX_ZOOM = 24;
+
+    private static final int EXTENT = 4096;
+    private static final int MAX_TEXT_LENGTH = 280;
+
+    private final AlertHotSet hotSet;
+
+    @Value("${tiles.max-zoom:22}")
+    private int maxZoom;
+
+    @Value("${tiles.max-features:1000}")
+    private int maxFeatures;
+
+    @Value("${tiles.cache.max-entries:5000}")
+    private int cacheMaxEntries;
+
+    @Value("${tiles.cluster.max-zoom:12}")
+    private int clusterMaxZoom;
+
+    @Value("${tiles.cluster.cell-bits:4}")
+    private int clusterBits;
+
+    private final ConcurrentSkipListSet<Entry> index = new ConcurrentSkipListSet<>();
+    private final Map<String, Entry> entriesById = new ConcurrentHashMap<>();
+    private Map<Long, byte[]> cache;
+    private Map<Long, AtomicIntegerArray>[] clusterCounts;
+
+    private final AtomicLong invalidations = new AtomicLong();
+    private final AtomicLong requests = new AtomicLong();
+    private final AtomicLong cacheHits = new AtomicLong();
+    private final AtomicLong generationNanos = new AtomicLong();
+    private final AtomicLong maxGenerationNanos = new AtomicLong();
+
+    /**
+     * Construtor para injeção de dependências.
+     * @param hotSet conjunto dos alertas ativos, que define quais alertas aparecem no mapa
+     */
+    @Autowired
+    public AlertTileService(AlertHotSet hotSet) {
+        this.hotSet = hotSet;
+    }
+
+    /**
+     * Valida as propriedades, cria o cache de tiles e as contagens por célula e passa a remover do índice os alertas que saem do conjunto ativo.
+     */
+    @PostConstruct
+    void init() {
+        if (maxZoom < 0 || maxZoom > INDEX_ZOOM) {
+            throw new IllegalStateException("tiles.max-zoom deve estar entre 0 e " + INDEX_ZOOM + ".");
+        }
+        if (clusterMaxZoom < -1 || clusterBits < 0 || clusterMaxZoom + clusterBits > INDEX_ZOOM) {
+            throw new IllegalStateException("tiles.cluster.max-zoom + tiles.cluster.cell-bits deve estar entre 0 e "
+                    + INDEX_ZOOM + ".");
+        }
+        clusterCounts = newClusterCounts(Math.min(clusterMaxZoom, maxZoom) + 1);
+        int maxEntries = cacheMaxEntries;
+        cache = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, byte[]> eldest) {
+                return size() > maxEntries;
+            }
+        };
+        hotSet.addEvictionListener(alert -> remove(alert.getId()));
+    }
+
+    @Override
+    public void onAlertCreated(Alert alert) {
+        put(alert);
+    }
+
+    @Override
+    public void onAlertUpdated(Alert previous, Alert current) {
+        put(current);
+    }
+
+    @Override
+    public void onAlertDeleted(Alert previous) {
+        if (previous.getId() != null) {
+            remove(previous.getId());
+        }
+    }
+
+    @Override
+    public void onAlertsReset() {
+        entriesById.clear();
+        index.clear();
+        clusterCounts = newClusterCounts(clusterCounts.length);
+        invalidations.incrementAndGet();
+        synchronized (cache) {
+            cache.clear();
+        }
+    }
+
+    /**
+     * Retorna o vector tile z/x/y, a partir do cache ou gerando-o a partir do índice espacial.
+     * @param z zoom
+     * @param x índice X do tile
+     * @param y índice Y do tile
+     * @return bytes do tile (vazio quando não há alertas na área)
+     * @throws IllegalArgumentException se as coordenadas do tile forem inválidas
+     */
+    public byte[] getTile(int z, int x, int y) {
+        if (z < 0 || z > maxZoom) {
+            throw new IllegalArgumentException("Zoom inválido: " + z + ". Use valores entre 0 e " + maxZoom + ".");
+        }
+        if (x < 0 || y < 0 || x >= (1 << z) || y >= (1 << z)) {
+            throw new IllegalArgumentException("Tile inválido: " + z + "/" + x + "/" + y);
+        }
+        requests.incrementAndGet();
+        long key = cacheKey(z, x, y);
+        byte[] cached;
+        synchronized (cache) {
+            cached = cache.get(key);
+        }
+        if (cached != null) {
+            cacheHits.incrementAndGet();
+            return cached;
+        }
+
+        long epoch = invalidations.get();
+        long start = System.nanoTime();
+        byte[] tile = generate(z, x, y);
+        long elapsed = System.nanoTime() - start;
+        generationNanos.addAndGet(elapsed);
+        maxGenerationNanos.accumulateAndGet(elapsed, Math::max);
+
+        synchronized (cache) {
+            // Não guarda o tile se algum alerta mudou durante a geração
+            if (invalidations.get() == epoch) {
+                cache.put(key, tile);
+            }
+        }
+        return tile;
+    }
+
+    /**
+     * Retorna as métricas de cache e de latência de geração dos tiles.
+     * @return métricas atuais
+     */
+    public TileStats getStats() {
+        long total = requests.get();
+        long hits = cacheHits.get();
+        long misses = total - hits;
+        int cached;
+        synchronized (cache) {
+            cached = cache.size();
+        }
+        return new TileStats(total, hits, misses,
+                total > 0 ? (double) hits / total : 0.0,
+                misses > 0 ? generationNanos.get() / 1_000_000.0 / misses : 0.0,
+                maxGenerationNanos.get() / 1_000_000.0,
+                cached,
+                entriesById.size());
+    }
+
+    private byte[] generate(int z, int x, int y) {
+        int shift = 2 * (INDEX_ZOOM - z);
+        long prefix = morton(x, y);
+        NavigableSet<Entry> range = index.subSet(Entry.bound(prefix << shift), true, Entry.bound((prefix + 1) << shift), false);
+
+        int count = 0;
+        for (Entry ignored : range) {
+            if (++count > maxFeatures) {
+                break;
+            }
+        }
+
+        MvtEncoder encoder = new MvtEncoder("alerts", EXTENT);
+        if (count <= maxFeatures) {
+            for (Entry entry : range) {
+                Alert alert = entry.alert;
+                Map<String, Object> properties = new LinkedHashMap<>();
+                properties.put("id", alert.getId());
+                properties.put("title", truncate(alert.getTitle()));
+                properties.put("category", alert.getCategory());
+                encoder.addPoint(toExtent(TileMath.lonToX(alert.getLongitude(), z) - x),
+                        toExtent(TileMath.latToY(alert.getLat(), z) - y), properties);
+            }
+        } else {
+            int[] counts = z < clusterCounts.length ? clusterCounts(z, x, y) : binCounts(range, z, x, y, clusterBits);
+            addClusters(encoder, counts, clusterBits);
+        }
+        return encoder.encode();
+    }
+
+    /**
+     * Retorna as contagens por célula mantidas para um tile de zoom até {@code tiles.cluster.max-zoom}.
+     * @return vetor de 2^bits x 2^bits contagens (linha a linha), zerado se o tile não tem alertas
+     */
+    int[] clusterCounts(int z, int x, int y) {
+        int[] counts = new int[1 << (2 * clusterBits)];
+        AtomicIntegerArray tile = clusterCounts[z].get(cacheKey(z, x, y));
+        if (tile != null) {
+            for (int i = 0; i < counts.length; i++) {
+                counts[i] = tile.get(i);
+            }
+        }
+        return counts;
+    }
+
+    /**
+     * Conta os alertas do intervalo em uma grade de 2^bits x 2^bits células dentro do tile.
+     */
+    private int[] binCounts(NavigableSet<Entry> range, int z, int x, int y, int bits) {
+        int side = 1 << bits;
+        int[] counts = new int[side * side];
+        int cellShift = INDEX_ZOOM - z - bits;
+        for (Entry entry : range) {
+            int cx = cellShift >= 0 ? (entry.ix >> cellShift) & (side - 1)
+                    : Math.min(side - 1, (int) ((TileMath.lonToX(entry.alert.getLongitude(), z) - x) * side));
+            int cy = cellShift >= 0 ? (entry.iy >> cellShift) & (side - 1)
+                    : Math.min(side - 1, (int) ((TileMath.latToY(entry.alert.getLat(), z) - y) * side));
+            counts[cy * side + cx]++;
+        }
+        return counts;
+    }
+
+    private void addClusters(MvtEncoder encoder, int[] counts, int bits) {
+        int side = 1 << bits;
+        int cellSize = EXTENT / side;
+        for (int i = 0; i < counts.length; i++) {
+            if (counts[i] <= 0) {
+                continue;
+            }
+            Map<String, Object> properties = new LinkedHashMap<>();
+            properties.put("cluster", Boolean.TRUE);
+            properties.put("count", counts[i]);
+            encoder.addPoint((i % side) * cellSize + cellSize / 2, (i / side) * cellSize + cellSize / 2, properties);
+        }
+    }
+
+    private void put(Alert alert) {
+        if (alert.getId() == null) {
+            return;
+        }
+        if (alert.getLat() == null || alert.getLongitude() == null || !hotSet.isActive(alert)) {
+            remove(alert.getId());
+            return;
+        }
+        int ix = TileMath.lonToTileX(alert.getLongitude(), INDEX_ZOOM);
+        int iy = TileMath.latToTileY(alert.getLat(), INDEX_ZOOM);
+        Entry entry = new Entry(morton(ix, iy), ix, iy, alert.getId(), alert);
+        Entry previous = entriesById.put(alert.getId(), entry);
+        if (previous != null) {
+            index.remove(previous);
+            count(previous, -1);
+            invalidate(previous);
+        }
+        index.add(entry);
+        count(entry, 1);
+        invalidate(entry);
+    }
+
+    private void remove(String id) {
+        Entry previous = entriesById.remove(id);
+        if (previous != null) {
+            index.remove(previous);
+            count(previous, -1);
+            invalidate(previous);
+        }
+    }
+
+    /**
+     * Incrementa (ou decrementa) a célula da entrada em todos os zooms com contagens mantidas.
+     */
+    private void count(Entry entry, int delta) {
+        Map<Long, AtomicIntegerArray>[] levels = clusterCounts;
+        int side = 1 << clusterBits;
+        for (int z = 0; z < levels.length; z++) {
+            int shift = INDEX_ZOOM - z - clusterBits;
+            int cx = entry.ix >> shift;
+            int cy = entry.iy >> shift;
+            AtomicIntegerArray tile = levels[z].computeIfAbsent(cacheKey(z, cx >> clusterBits, cy >> clusterBits),
+                    k -> new AtomicIntegerArray(side * side));
+            tile.addAndGet((cy & (side - 1)) * side + (cx & (side - 1)), delta);
+        }
+    }
+
+    /**
+     * Remove do cache todos os tiles, em todos os zooms, que contêm a posição do alerta.
+     */
+    private void invalidate(Entry entry) {
+        invalidations.incrementAndGet();
+        synchronized (cache) {
+            for (int z = 0; z <= maxZoom; z++) {
+                int shift = INDEX_ZOOM - z;
+                cache.remove(cacheKey(z, entry.ix >> shift, entry.iy >> shift));
+            }
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<Long, AtomicIntegerArray>[] newClusterCounts(int levelCount) {
+        Map<Long, AtomicIntegerArray>[] levels = new Map[levelCount];
+        for (int z = 0; z < levelCount; z++) {
+            levels[z] = new ConcurrentHashMap<>();
+        }
+        return levels;
+    }
+
+    private static int toExtent(double fraction) {
+        return (int) Math.max(0, Math.min(EXTENT - 1, Math.round(fraction * EXTENT)));
+    }
+
+    private static String truncate(String text) {
+        return text != null && text.length() > MAX_TEXT_LENGTH ? text.substring(0, MAX_TEXT_LENGTH) + "…" : text;
+    }
+
+    private static long cacheKey(int z, int x, int y) {
+        return ((long) z << 50) | ((long) x << 25) | y;
+    }
+
+    /**
+     * Intercala os bits de x e y (curva de Morton).
+     */
+    static long morton(int x, int y) {
+        return spread(x) | (spread(y) << 1);
+    }
+
+    private static long spread(int value) {
+        long v = value & 0xFFFFFFFFL;
+        v = (v | (v << 16)) & 0x0000FFFF0000FFFFL;
+        v = (v | (v << 8)) & 0x00FF00FF00FF00FFL;
+        v = (v | (v << 4)) & 0x0F0F0F0F0F0F0F0FL;
+        v = (v | (v << 2)) & 0x3333333333333333L;
+        v = (v | (v << 1)) & 0x5555555555555555L;
+        return v;
+    }
+
+    /**
+     * Entrada do índice espacial, ordenada pelo código de Morton e, em caso de empate, pelo ID do alerta.
+     */
+    private static final class Entry implements Comparable<Entry> {
+        final long morton;
+        final int ix;
+        final int iy;
+        final String id;
+        final Alert alert;
+
+        Entry(long morton, int ix, int iy, String id, Alert alert) {
+            this.morton = morton;
+            this.ix = ix;
+            this.iy = iy;
+            this.id = id;
+            this.alert = alert;
+        }
+
+        static Entry bound(long morton) {
+            return new Entry(morton, 0, 0, "", null);
+        }
+
+        @Override
+        public int compareTo(Entry other) {
+            int result = Long.compare(morton, other.morton);
+            return result != 0 ? result : id.compareTo(other.id);
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            return other instanceof Entry && compareTo((Entry) other) == 0;
+        }
+
+        @Override
+        public int hashCode() {
+            return Long.hashCode(morton) * 31 + id.hashCode();
+        }
+    }
+}
@@ -1,33 +1,68 @@
 package com.alertae.api.service;
 
+import com.alertae.api.util.RateLimiter;
 import com.google.gson.Gson;
 import com.google.gson.JsonArray;
 import com.google.gson.JsonElement;
 import com.google.gson.JsonObject;
+import jakarta.annotation.PostConstruct;
 import okhttp3.HttpUrl;
 import okhttp3.OkHttpClient;
 import okhttp3.Request;
 import okhttp3.Response;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.BiConsumer;
 
 /**
  * Serviço responsável por obter coordenadas geográficas (latitude e longitude)
  * a partir de informações de endereço, utilizando a API Nominatim (OpenStreetMap).
- * Implementa lógica de fallback para tentar diferentes níveis de detalhe do endereço.
+ * Implementa lógica de fallback para tentar diferentes níveis de detalhe do endereço,
+ * com cache das consultas resolvidas e limite de requisições por segundo ao Nominatim.
  */
 @Service
 public class GeocodingService {
 
+    private static final Logger log = LoggerFactory.getLogger(GeocodingService.class);
+
+    private static final int MAX_RETRIES = 3;
+
+    /**
+     * Marcador usado no cache para consultas que não retornaram resultado.
+     */
+    private static final double[] NOT_FOUND = new double[0];
+
     private final OkHttpClient httpClient;
     private final Gson gson;
 
     @Value("${geocoding.api.url}")
     private String geocodingApiUrl;
 
+    @Value("${geocoding.rate-limit.requests-per-second:1}")
+    private double requestsPerSecond;
+
+    @Value("${geocoding.cache.max-entries:10000}")
+    private int cacheMaxEntries;
+
+    private RateLimiter rateLimiter;
+
+    /**
+     * Cache LRU de consultas já resolvidas (incluindo as sem resultado), evitando chamadas repetidas ao Nominatim.
+     */
+    private Map<String, double[]> cache;
+
+    private final List<BiConsumer<String, double[]>> resultListeners = new CopyOnWriteArrayList<>();
+
     /**
      * Construtor do serviço de geocodificação.
      * @param httpClient Cliente HTTP para requisições.
@@ -38,6 +73,50 @@ public class GeocodingService {
         this.gson = gson;
     }
 
+    /**
+     * Inicializa o limitador de taxa e o cache a partir das propriedades configuradas.
+     */
+    @PostConstruct
+    void init() {
+        this.rateLimiter = new RateLimiter(requestsPerSecond);
+        int maxEntries = cacheMaxEntries;
+        this.cache = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, double[]> eldest) {
+                return size() > maxEntries;
+            }
+        };
+    }
+
+    /**
+     * Registra uma ação executada a cada consulta resolvida pelo Nominatim (por exemplo, para compartilhar
+     * o resultado com as outras instâncias).
+     * @param listener ação que recebe a consulta normalizada e as coordenadas [latitude, longitude], ou null se não encontrada
+     */
+    public void addResultListener(BiConsumer<String, double[]> listener) {
+        resultListeners.add(listener);
+    }
+
+    /**
+     * Adiciona ao cache um resultado obtido por outra instância.
+     * @param query consulta normalizada
+     * @param coords coordenadas [latitude, longitude], ou null se o endereço não foi encontrado
+     */
+    public void putCachedResult(String query, double[] coords) {
+        synchronized (cache) {
+            cache.put(query, coords != null && coords.length == 2 ? coords : NOT_FOUND);
+        }
+    }
+
+    /**
+     * Divide o limite de requisições ao Nominatim entre as instâncias, para que a soma não ultrapasse
+     * {@code geocoding.rate-limit.requests-per-second}.
+     * @param nodes quantidade de instâncias ativas
+     */
+    public void setRateLimitShare(int nodes) {
+        rateLimiter.setRate(requestsPerSecond <= 0 ? requestsPerSecond : requestsPerSecond / Math.max(1, nodes));
+    }
+
     /**
      * Tenta obter as coordenadas de um endereço com lógica de fallback,
      * passando por diferentes níveis de detalhe do endereço até encontrar um resultado.
@@ -62,11 +141,11 @@ public class GeocodingService {
             try {
                 double[] coords = makeGeocodingRequest(fullAddress);
                 if (coords != null) {
-                    System.out.println("DEBUG: Geocodificação bem-sucedida (completa): " + fullAddress);
+                    log.debug("Geocodificação bem-sucedida (completa): {}", fullAddress);
                     return coords;
                 }
             } catch (IOException e) {
-                System.err.println("DEBUG: Erro ao geocodificar (completa): " + fullAddress + " - " + e.getMessage());
+                log.warn("Erro ao geocodificar (completa): {} - {}", fullAddress, e.getMessage());
             }
         }
 
@@ -78,11 +157,11 @@ public class GeocodingService {
                 try {
                     double[] coords = makeGeocodingRequest(addressWithoutNumber);
                     if (coords != null) {
-                        System.out.println("DEBUG: Geocodificação bem-sucedida (sem número): " + addressWithoutNumber);
+                        log.debug("Geocodificação bem-sucedida (sem número): {}", addressWithoutNumber);
                         return coords;
                     }
                 } catch (IOException e) {
-                    System.err.println("DEBUG: Erro ao geocodificar (sem número): " + addressWithoutNumber + " - " + e.getMessage());
+                    log.warn("Erro ao geocodificar (sem número): {} - {}", addressWithoutNumber, e.getMessage());
                 }
             }
         }
@@ -93,11 +172,11 @@ public class GeocodingService {
              try {
                 double[] coords = makeGeocodingRequest(neighborhoodCityStateCountry);
                 if (coords != null) {
-                    System.out.println("DEBUG: Geocodificação bem-sucedida (Bairro+Cidade): " + neighborhoodCityStateCountry);
+                    log.debug("Geocodificação bem-sucedida (Bairro+Cidade): {}", neighborhoodCityStateCountry);
                     return coords;
                 }
             } catch (IOException e) {
-                System.err.println("DEBUG: Erro ao geocodificar (Bairro+Cidade): " + neighborhoodCityStateCountry + " - " + e.getMessage());
+                log.warn("Erro ao geocodificar (Bairro+Cidade): {} - {}", neighborhoodCityStateCountry, e.getMessage());
             }
         }
 
@@ -107,15 +186,15 @@ public class GeocodingService {
             try {
                 double[] coords = makeGeocodingRequest(cityStateCountry);
                 if (coords != null) {
-                    System.out.println("DEBUG: Geocodificação bem-sucedida (Cidade+Estado): " + cityStateCountry);
+                    log.debug("Geocodificação bem-sucedida (Cidade+Estado): {}", cityStateCountry);
                     return coords;
                 }
             } catch (IOException e) {
-                System.err.println("DEBUG: Erro ao geocodificar (Cidade+Estado): " + cityStateCountry + " - " + e.getMessage());
+                log.warn("Erro ao geocodificar (Cidade+Estado): {} - {}", cityStateCountry, e.getMessage());
             }
         }
 
-        System.out.println("DEBUG: Nenhuma geocodificação bem-sucedida para o endereço original: " + fullAddress);
+        log.warn("Nenhuma geocodificação bem-sucedida para o endereço original: {}", fullAddress);
         return null;
     }
 
@@ -130,6 +209,15 @@ public class GeocodingService {
             return null;
         }
 
+        String cacheKey = query.trim().toLowerCase(Locale.ROOT);
+        double[] cached;
+        synchronized (cache) {
+            cached = cache.get(cacheKey);
+        }
+        if (cached != null) {
+            return cached == NOT_FOUND ? null : cached;
+        }
+
         HttpUrl.Builder urlBuilder = HttpUrl.parse(geocodingApiUrl).newBuilder();
         urlBuilder.addQueryParameter("q", query);
         urlBuilder.addQueryParameter("format", "json");
@@ -140,33 +228,92 @@ public class GeocodingService {
                 .addHeader("User-Agent", "AlertaeApp/1.0 (julia.azevedolins@gmail.com)")
                 .build();
 
-        try (Response response = httpClient.newCall(request).execute()) {
-            if (!response.isSuccessful()) {
-                System.out.println("DEBUG: Nominatim request failed with code " + response.code() + " for query: " + query + ". Message: " + response.message());
-                return null;
+        for (int attempt = 0; ; attempt++) {
+            try {
+                rateLimiter.acquire();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IOException("Geocodificação interrompida para: " + query, e);
             }
 
-            String responseBody = response.body() != null ? response.body().string() : "";
-            JsonArray jsonResponse = gson.fromJson(responseBody, JsonArray.class);
+            try (Response response = httpClient.newCall(request).execute()) {
+                if (response.code() == 429 && attempt < MAX_RETRIES) {
+                    long backoffMillis = retryAfterMillis(response, attempt);
+                    log.warn("Nominatim rate limit (429) for query: {}. Retrying in {} ms", query, backoffMillis);
+                    sleep(backoffMillis, query);
+                    continue;
+                }
+                if (!response.isSuccessful()) {
+                    log.warn("Nominatim request failed with code {} for query: {}. Message: {}", response.code(), query, response.message());
+                    return null;
+                }
+
+                String responseBody = response.body() != null ? response.body().string() : "";
+                double[] coords = parseCoordinates(query, responseBody);
+                synchronized (cache) {
+                    cache.put(cacheKey, coords != null ? coords : NOT_FOUND);
+                }
+                for (BiConsumer<String, double[]> listener : resultListeners) {
+                    listener.accept(cacheKey, coords);
+                }
+                return coords;
+            }
+        }
+    }
+
+    /**
+     * Extrai latitude e longitude do primeiro resultado retornado pelo Nominatim.
+     * @param query String do endereço consultado (usada nos logs).
+     * @param responseBody Corpo JSON da resposta.
+     * @return Array de double [latitude, longitude] se encontrado, ou null caso contrário.
+     */
+    private double[] parseCoordinates(String query, String responseBody) {
+        JsonArray jsonResponse = gson.fromJson(responseBody, JsonArray.class);
 
-            if (jsonResponse != null && jsonResponse.size() > 0) {
-                JsonObject firstResult = jsonResponse.get(0).getAsJsonObject();
+        if (jsonResponse != null && jsonResponse.size() > 0) {
+            JsonObject firstResult = jsonResponse.get(0).getAsJsonObject();
 
-                JsonElement latElement = firstResult.get("lat");
-                JsonElement lonElement = firstResult.get("lon");
+            JsonElement latElement = firstResult.get("lat");
+            JsonElement lonElement = firstResult.get("lon");
 
-                if (latElement != null && lonElement != null && latElement.isJsonPrimitive() && lonElement.isJsonPrimitive()) {
-                    double lat = latElement.getAsDouble();
-                    double lon = lonElement.getAsDouble();
-                    return new double[]{lat, lon};
-                } else {
-                    System.out.println("DEBUG: Nominatim response did not contain valid 'lat' or 'lon' fields for query: " + query + ". Full response: " + responseBody);
-                    return null;
-                }
+            if (latElement != null && lonElement != null && latElement.isJsonPrimitive() && lonElement.isJsonPrimitive()) {
+                double lat = latElement.getAsDouble();
+                double lon = lonElement.getAsDouble();
+                return new double[]{lat, lon};
             } else {
-                System.out.println("DEBUG: No coordinates found for address query: " + query + ". Full response: " + responseBody);
+                log.warn("Nominatim response did not contain valid 'lat' or 'lon' fields for query: {}. Full response: {}", query, responseBody);
                 return null;
             }
+        } else {
+            log.info("No coordinates found for address query: {}. Full response: {}", query, responseBody);
+            return null;
+        }
+    }
+
+    /**
+     * Calcula o tempo de espera após uma resposta 429, respeitando o cabeçalho Retry-After quando presente.
+     * @param response Resposta HTTP 429.
+     * @param attempt Número da tentativa atual (a partir de zero).
+     * @return Tempo de espera em milissegundos.
+     */
+    private long retryAfterMillis(Response response, int attempt) {
+        String retryAfter = response.header("Retry-After");
+        if (retryAfter != null) {
+            try {
+                return Math.max(0L, Long.parseLong(retryAfter.trim()) * 1000L);
+            } catch (NumberFormatException ignored) {
+                // Formato de data HTTP não suportado; usa o backoff exponencial
+            }
+        }
+        return 1000L << attempt;
+    }
+
+    private void sleep(long millis, String query) throws IOException {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Geocodificação interrompida para: " + query, e);
         }
     }
 
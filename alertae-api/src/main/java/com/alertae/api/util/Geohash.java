@@ -0,0 +1,65 @@
+package com.alertae.api.util;
+
+/**
+ * Codificação de coordenadas em geohash (base 32), usada para agrupar alertas por célula geográfica.
+ * Cada caractere adicional divide a célula em 32: precisão 4 ≈ 39 × 20 km, precisão 5 ≈ 4,9 × 4,9 km.
+ */
+public final class Geohash {
+
+    /**
+     * Precisão máxima suportada (12 caracteres ≈ 3,7 × 1,9 cm).
+     */
+    public static final int MAX_PRECISION = 12;
+
+    private static final char[] BASE32 = "0123456789bcdefghjkmnpqrstuvwxyz".toCharArray();
+
+    private Geohash() {
+    }
+
+    /**
+     * Calcula o geohash de uma coordenada.
+     * @param lat latitude em graus
+     * @param lon longitude em graus
+     * @param precision quantidade de caracteres (1 a {@link #MAX_PRECISION})
+     * @return geohash da célula que contém a coordenada
+     * @throws IllegalArgumentException se a precisão estiver fora do intervalo
+     */
+    public static String encode(double lat, double lon, int precision) {
+        if (precision < 1 || precision > MAX_PRECISION) {
+            throw new IllegalArgumentException("Precisão de geohash inválida: " + precision);
+        }
+        double minLat = -90, maxLat = 90, minLon = -180, maxLon = 180;
+        StringBuilder hash = new StringBuilder(precision);
+        boolean evenBit = true;
+        int bit = 0;
+        int ch = 0;
+        while (hash.length() < precision) {
+            if (evenBit) {
+                double mid = (minLon + maxLon) / 2;
+                if (lon >= mid) {
+                    ch = (ch << 1) | 1;
+                    minLon = mid;
+                } else {
+                    ch <<= 1;
+                    maxLon = mid;
+                }
+            } else {
+                double mid = (minLat + maxLat) / 2;
+                if (lat >= mid) {
+                    ch = (ch << 1) | 1;
+                    minLat = mid;
+                } else {
+                    ch <<= 1;
+                    maxLat = mid;
+                }
+            }
+            evenBit = !evenBit;
+            if (++bit == 5) {
+                hash.append(BASE32[ch]);
+                bit = 0;
+                ch = 0;
+            }
+        }
+        return hash.toString();
+    }
+}
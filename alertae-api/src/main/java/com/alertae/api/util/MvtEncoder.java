@@ -0,0 +1,151 @@
+package com.alertae.api.util;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Codificador mínimo de Mapbox Vector Tiles (especificação 2.1) para camadas de pontos.
+ * Gera diretamente o protobuf do tile, sem dependências externas.
+ */
+public final class MvtEncoder {
+
+    private static final int WIRE_VARINT = 0;
+    private static final int WIRE_FIXED64 = 1;
+    private static final int WIRE_BYTES = 2;
+
+    private static final int GEOMETRY_POINT = 1;
+    private static final int COMMAND_MOVE_TO_ONE = (1 & 0x7) | (1 << 3);
+
+    private final String layerName;
+    private final int extent;
+    private final Map<String, Integer> keys = new LinkedHashMap<>();
+    private final Map<Object, Integer> values = new LinkedHashMap<>();
+    private final ByteArrayOutputStream features = new ByteArrayOutputStream();
+    private int featureCount;
+
+    /**
+     * Cria um codificador para uma única camada.
+     * @param layerName nome da camada
+     * @param extent resolução das coordenadas dentro do tile (normalmente 4096)
+     */
+    public MvtEncoder(String layerName, int extent) {
+        this.layerName = layerName;
+        this.extent = extent;
+    }
+
+    /**
+     * Adiciona um ponto à camada.
+     * @param x coordenada X no sistema do tile (0 a extent)
+     * @param y coordenada Y no sistema do tile (0 a extent)
+     * @param properties propriedades do ponto (String, Integer, Long, Double ou Boolean); valores nulos são ignorados
+     */
+    public void addPoint(int x, int y, Map<String, ?> properties) {
+        ByteArrayOutputStream tags = new ByteArrayOutputStream();
+        for (Map.Entry<String, ?> property : properties.entrySet()) {
+            Object value = property.getValue();
+            if (value == null) {
+                continue;
+            }
+            if (value instanceof Integer) {
+                value = ((Integer) value).longValue();
+            }
+            writeVarint(tags, keys.computeIfAbsent(property.getKey(), k -> keys.size()));
+            writeVarint(tags, values.computeIfAbsent(value, v -> values.size()));
+        }
+
+        ByteArrayOutputStream geometry = new ByteArrayOutputStream();
+        writeVarint(geometry, COMMAND_MOVE_TO_ONE);
+        writeVarint(geometry, zigZag(x));
+        writeVarint(geometry, zigZag(y));
+
+        ByteArrayOutputStream feature = new ByteArrayOutputStream();
+        writeBytesField(feature, 2, tags.toByteArray());
+        writeTag(feature, 3, WIRE_VARINT);
+        writeVarint(feature, GEOMETRY_POINT);
+        writeBytesField(feature, 4, geometry.toByteArray());
+
+        writeBytesField(features, 2, feature.toByteArray());
+        featureCount++;
+    }
+
+    /**
+     * Quantidade de pontos adicionados.
+     * @return número de features
+     */
+    public int getFeatureCount() {
+        return featureCount;
+    }
+
+    /**
+     * Codifica o tile completo. Um tile sem features é codificado como vazio (sem camadas).
+     * @return bytes do tile (application/vnd.mapbox-vector-tile)
+     */
+    public byte[] encode() {
+        if (featureCount == 0) {
+            return new byte[0];
+        }
+        ByteArrayOutputStream layer = new ByteArrayOutputStream();
+        writeTag(layer, 15, WIRE_VARINT);
+        writeVarint(layer, 2);
+        writeBytesField(layer, 1, layerName.getBytes(StandardCharsets.UTF_8));
+        layer.writeBytes(features.toByteArray());
+        for (String key : keys.keySet()) {
+            writeBytesField(layer, 3, key.getBytes(StandardCharsets.UTF_8));
+        }
+        for (Object value : values.keySet()) {
+            writeBytesField(layer, 4, encodeValue(value));
+        }
+        writeTag(layer, 5, WIRE_VARINT);
+        writeVarint(layer, extent);
+
+        ByteArrayOutputStream tile = new ByteArrayOutputStream();
+        writeBytesField(tile, 3, layer.toByteArray());
+        return tile.toByteArray();
+    }
+
+    private static byte[] encodeValue(Object value) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        if (value instanceof String) {
+            writeBytesField(out, 1, ((String) value).getBytes(StandardCharsets.UTF_8));
+        } else if (value instanceof Double) {
+            writeTag(out, 3, WIRE_FIXED64);
+            long bits = Double.doubleToLongBits((Double) value);
+            for (int i = 0; i < 8; i++) {
+                out.write((int) (bits >>> (8 * i)) & 0xff);
+            }
+        } else if (value instanceof Long) {
+            writeTag(out, 6, WIRE_VARINT);
+            writeVarint(out, zigZag((Long) value));
+        } else if (value instanceof Boolean) {
+            writeTag(out, 7, WIRE_VARINT);
+            writeVarint(out, (Boolean) value ? 1 : 0);
+        } else {
+            writeBytesField(out, 1, value.toString().getBytes(StandardCharsets.UTF_8));
+        }
+        return out.toByteArray();
+    }
+
+    private static void writeBytesField(ByteArrayOutputStream out, int field, byte[] bytes) {
+        writeTag(out, field, WIRE_BYTES);
+        writeVarint(out, bytes.length);
+        out.writeBytes(bytes);
+    }
+
+    private static void writeTag(ByteArrayOutputStream out, int field, int wireType) {
+        writeVarint(out, ((long) field << 3) | wireType);
+    }
+
+    private static void writeVarint(ByteArrayOutputStream out, long value) {
+        while ((value & ~0x7FL) != 0) {
+            out.write((int) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        out.write((int) value);
+    }
+
+    private static long zigZag(long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+}
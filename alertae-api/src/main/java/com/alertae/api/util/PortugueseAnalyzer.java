@@ -0,0 +1,111 @@
+package com.alertae.api.util;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Análise de texto em português para a busca: separa as palavras, converte para minúsculas,
+ * remove acentos ("inundação" → "inundacao"), descarta stopwords e reduz cada palavra a um radical
+ * com um stemmer leve (plural, feminino, diminutivo/aumentativo e sufixos comuns), de modo que
+ * "enchentes", "Enchente" e "enchente" resultem no mesmo termo.
+ */
+public final class PortugueseAnalyzer {
+
+    private static final int MIN_STEM_LENGTH = 3;
+
+    private static final Set<String> STOPWORDS = Set.of(
+            "a", "ao", "aos", "as", "ate", "com", "como", "da", "das", "de", "do", "dos", "e", "ela", "elas",
+            "ele", "eles", "em", "entre", "era", "essa", "esse", "esta", "este", "eu", "foi", "ha", "isso",
+            "isto", "ja", "la", "lhe", "mais", "mas", "me", "mesmo", "meu", "minha", "muito", "na", "nao",
+            "nas", "nem", "no", "nos", "num", "numa", "o", "os", "ou", "para", "pela", "pelas", "pelo",
+            "pelos", "por", "qual", "quando", "que", "quem", "se", "sem", "ser", "seu", "sua", "sao", "so",
+            "tambem", "te", "tem", "um", "uma", "voce");
+
+    /**
+     * Sufixos derivacionais removidos, do mais longo para o mais curto (já sem acentos).
+     */
+    private static final String[][] SUFFIXES = {
+            {"amentos", ""}, {"imentos", ""}, {"amento", ""}, {"imento", ""},
+            {"acoes", ""}, {"icoes", ""}, {"acao", ""}, {"icao", ""},
+            {"idades", ""}, {"idade", ""}, {"mente", ""},
+            {"zinhos", ""}, {"zinhas", ""}, {"zinho", ""}, {"zinha", ""},
+            {"inhos", ""}, {"inhas", ""}, {"inho", ""}, {"inha", ""},
+            {"issimo", ""}, {"issima", ""}, {"oes", "ao"}, {"aes", "ao"},
+            {"ais", "al"}, {"eis", "el"}, {"ois", "ol"}, {"ns", "m"}, {"res", "r"}, {"zes", "z"},
+    };
+
+    private PortugueseAnalyzer() {
+    }
+
+    /**
+     * Extrai os termos indexáveis de um texto.
+     * @param text texto livre (pode ser nulo)
+     * @return termos normalizados, na ordem em que aparecem (com repetições)
+     */
+    public static List<String> analyze(String text) {
+        List<String> terms = new ArrayList<>();
+        if (text == null || text.isEmpty()) {
+            return terms;
+        }
+        String folded = fold(text);
+        int start = -1;
+        for (int i = 0; i <= folded.length(); i++) {
+            boolean wordChar = i < folded.length() && Character.isLetterOrDigit(folded.charAt(i));
+            if (wordChar && start < 0) {
+                start = i;
+            } else if (!wordChar && start >= 0) {
+                String word = folded.substring(start, i);
+                if (!STOPWORDS.contains(word)) {
+                    terms.add(stem(word));
+                }
+                start = -1;
+            }
+        }
+        return terms;
+    }
+
+    /**
+     * Converte para minúsculas e remove os acentos.
+     * @param text texto original
+     * @return texto sem acentos
+     */
+    public static String fold(String text) {
+        String decomposed = Normalizer.normalize(text.toLowerCase(Locale.ROOT), Normalizer.Form.NFD);
+        StringBuilder out = new StringBuilder(decomposed.length());
+        for (int i = 0; i < decomposed.length(); i++) {
+            char c = decomposed.charAt(i);
+            if (Character.getType(c) != Character.NON_SPACING_MARK) {
+                out.append(c);
+            }
+        }
+        return out.toString();
+    }
+
+    /**
+     * Reduz uma palavra (já normalizada) ao seu radical.
+     * @param word palavra sem acentos, em minúsculas
+     * @return radical
+     */
+    static String stem(String word) {
+        if (word.length() <= MIN_STEM_LENGTH || Character.isDigit(word.charAt(0))) {
+            return word;
+        }
+        for (String[] suffix : SUFFIXES) {
+            if (word.endsWith(suffix[0]) && word.length() - suffix[0].length() + suffix[1].length() >= MIN_STEM_LENGTH) {
+                word = word.substring(0, word.length() - suffix[0].length()) + suffix[1];
+                break;
+            }
+        }
+        // Plural regular e gênero
+        if (word.length() > MIN_STEM_LENGTH + 1 && word.endsWith("s")) {
+            word = word.substring(0, word.length() - 1);
+        }
+        if (word.length() > MIN_STEM_LENGTH + 1 && (word.endsWith("a") || word.endsWith("o") || word.endsWith("e"))) {
+            word = word.substring(0, word.length() - 1);
+        }
+        return word;
+    }
+}
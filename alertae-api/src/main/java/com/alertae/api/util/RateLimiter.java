@@ -0,0 +1,52 @@
+package com.alertae.api.util;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Limitador de taxa simples que espaça as permissões em intervalos fixos.
+ * Cada chamada a {@link #acquire()} reserva o próximo intervalo livre e aguarda até ele chegar,
+ * garantindo no máximo N requisições por segundo somando todas as threads.
+ */
+public final class RateLimiter {
+
+    private volatile long intervalNanos;
+    private long nextFreeNanos;
+
+    /**
+     * Cria um limitador com a taxa informada.
+     * @param permitsPerSecond permissões por segundo; valores menores ou iguais a zero desativam o limite
+     */
+    public RateLimiter(double permitsPerSecond) {
+        setRate(permitsPerSecond);
+        this.nextFreeNanos = System.nanoTime();
+    }
+
+    /**
+     * Altera a taxa do limitador.
+     * @param permitsPerSecond permissões por segundo; valores menores ou iguais a zero desativam o limite
+     */
+    public void setRate(double permitsPerSecond) {
+        this.intervalNanos = permitsPerSecond > 0 ? (long) (TimeUnit.SECONDS.toNanos(1) / permitsPerSecond) : 0L;
+    }
+
+    /**
+     * Bloqueia até que uma permissão esteja disponível.
+     * @throws InterruptedException se a thread for interrompida durante a espera
+     */
+    public void acquire() throws InterruptedException {
+        long interval = intervalNanos;
+        if (interval == 0L) {
+            return;
+        }
+        long waitNanos;
+        synchronized (this) {
+            long now = System.nanoTime();
+            long slot = Math.max(now, nextFreeNanos);
+            nextFreeNanos = slot + interval;
+            waitNanos = slot - now;
+        }
+        if (waitNanos > 0) {
+            TimeUnit.NANOSECONDS.sleep(waitNanos);
+        }
+    }
+}
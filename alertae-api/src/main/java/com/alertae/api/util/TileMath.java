@@ -0,0 +1,84 @@
+package com.alertae.api.util;
+
+/**
+ * Conversões entre coordenadas geográficas (WGS84) e coordenadas de tiles na projeção Web Mercator,
+ * no mesmo esquema z/x/y usado pelos mapas do OpenStreetMap/Leaflet.
+ */
+public final class TileMath {
+
+    /**
+     * Latitude máxima representável na projeção Web Mercator.
+     */
+    public static final double MAX_LATITUDE = 85.05112878;
+
+    private TileMath() {
+    }
+
+    /**
+     * Converte longitude para a coordenada X contínua, em unidades de tile, no zoom informado.
+     * @param lon longitude em graus
+     * @param zoom nível de zoom
+     * @return coordenada X (a parte inteira é o índice do tile)
+     */
+    public static double lonToX(double lon, int zoom) {
+        return (lon + 180.0) / 360.0 * (1L << zoom);
+    }
+
+    /**
+     * Converte latitude para a coordenada Y contínua, em unidades de tile, no zoom informado.
+     * @param lat latitude em graus (limitada a ±{@link #MAX_LATITUDE})
+     * @param zoom nível de zoom
+     * @return coordenada Y (a parte inteira é o índice do tile)
+     */
+    public static double latToY(double lat, int zoom) {
+        double clamped = Math.max(-MAX_LATITUDE, Math.min(MAX_LATITUDE, lat));
+        double rad = Math.toRadians(clamped);
+        return (1.0 - Math.log(Math.tan(rad) + 1.0 / Math.cos(rad)) / Math.PI) / 2.0 * (1L << zoom);
+    }
+
+    /**
+     * Converte longitude para o índice inteiro da célula/tile no zoom informado, limitado à grade.
+     * @param lon longitude em graus
+     * @param zoom nível de zoom
+     * @return índice X entre 0 e 2^zoom - 1
+     */
+    public static int lonToTileX(double lon, int zoom) {
+        return clamp((long) Math.floor(lonToX(lon, zoom)), zoom);
+    }
+
+    /**
+     * Converte latitude para o índice inteiro da célula/tile no zoom informado, limitado à grade.
+     * @param lat latitude em graus
+     * @param zoom nível de zoom
+     * @return índice Y entre 0 e 2^zoom - 1
+     */
+    public static int latToTileY(double lat, int zoom) {
+        return clamp((long) Math.floor(latToY(lat, zoom)), zoom);
+    }
+
+    /**
+     * Retorna a longitude da borda oeste do tile X.
+     * @param x índice (ou coordenada contínua) X
+     * @param zoom nível de zoom
+     * @return longitude em graus
+     */
+    public static double tileXToLon(double x, int zoom) {
+        return x / (1L << zoom) * 360.0 - 180.0;
+    }
+
+    /**
+     * Retorna a latitude da borda norte do tile Y.
+     * @param y índice (ou coordenada contínua) Y
+     * @param zoom nível de zoom
+     * @return latitude em graus
+     */
+    public static double tileYToLat(double y, int zoom) {
+        double n = Math.PI - 2.0 * Math.PI * y / (1L << zoom);
+        return Math.toDegrees(Math.atan(Math.sinh(n)));
+    }
+
+    private static int clamp(long value, int zoom) {
+        long max = (1L << zoom) - 1;
+        return (int) Math.max(0, Math.min(max, value));
+    }
+}
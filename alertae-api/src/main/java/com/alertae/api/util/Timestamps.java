@@ -0,0 +1,61 @@
+package com.alertae.api.util;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeParseException;
+
+/**
+ * Conversão das datas ISO-8601 usadas pelo Supabase (created_at) e pelos parâmetros de consulta.
+ */
+public final class Timestamps {
+
+    private Timestamps() {
+    }
+
+    /**
+     * Converte uma data/hora ISO-8601 em milissegundos desde a época.
+     * Aceita valores com offset ("2024-06-06T10:00:00+00:00"), sem offset (interpretados como UTC)
+     * ou apenas a data ("2024-06-06", meia-noite UTC).
+     * @param value data/hora em texto
+     * @return milissegundos desde a época, ou null se o valor for nulo ou vazio
+     * @throws IllegalArgumentException se o valor não estiver em um formato reconhecido
+     */
+    public static Long parseEpochMillis(String value) {
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        String text = value.trim();
+        try {
+            return OffsetDateTime.parse(text).toInstant().toEpochMilli();
+        } catch (DateTimeParseException ignored) {
+            // Tenta os formatos sem offset
+        }
+        try {
+            return LocalDateTime.parse(text).toInstant(ZoneOffset.UTC).toEpochMilli();
+        } catch (DateTimeParseException ignored) {
+            // Tenta o formato apenas com a data
+        }
+        try {
+            return LocalDate.parse(text).atStartOfDay(ZoneOffset.UTC).toInstant().toEpochMilli();
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Data/hora inválida: " + value);
+        }
+    }
+
+    /**
+     * Converte a data de criação de um alerta em milissegundos, usando o instante atual quando ausente ou inválida.
+     * @param createdAt valor de created_at
+     * @return milissegundos desde a época
+     */
+    public static long createdAtMillis(String createdAt) {
+        try {
+            Long millis = parseEpochMillis(createdAt);
+            return millis != null ? millis : Instant.now().toEpochMilli();
+        } catch (IllegalArgumentException e) {
+            return Instant.now().toEpochMilli();
+        }
+    }
+}
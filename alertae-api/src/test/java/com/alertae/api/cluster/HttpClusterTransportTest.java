@@ -0,0 +1,111 @@
+package com.alertae.api.cluster;
+
+import com.google.gson.Gson;
+import com.sun.net.httpserver.HttpServer;
+import okhttp3.OkHttpClient;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class HttpClusterTransportTest {
+
+    private final List<ClusterMessage> received = new ArrayList<>();
+    private final AtomicInteger lost = new AtomicInteger();
+    private HttpClusterTransport transport;
+    private HttpServer server;
+
+    @AfterEach
+    void stop() {
+        if (transport != null) {
+            transport.close();
+        }
+        if (server != null) {
+            server.stop(0);
+        }
+    }
+
+    @Test
+    void resentMessagesAreProcessedOnce() {
+        transport = receiver();
+        ClusterMessage first = message(1);
+        ClusterMessage second = message(2);
+
+        transport.receive(List.of(first, second));
+        transport.receive(List.of(second));
+
+        assertEquals(2, received.size());
+        assertEquals(0, lost.get());
+    }
+
+    @Test
+    void gapInSequenceTriggersResync() {
+        transport = receiver();
+
+        transport.receive(List.of(message(1)));
+        transport.receive(List.of(message(4)));
+
+        assertEquals(2, received.size());
+        assertEquals(1, lost.get());
+    }
+
+    @Test
+    void messagesPublishedBeforeStartAreIgnored() {
+        transport = receiver();
+        ClusterMessage old = message(1);
+        old.setPublishedAt(System.currentTimeMillis() - 60_000);
+
+        transport.receive(List.of(old, message(2)));
+
+        assertEquals(1, received.size());
+        assertEquals(0, lost.get());
+    }
+
+    @Test
+    void failedBatchIsResent() throws Exception {
+        List<String> bodies = new CopyOnWriteArrayList<>();
+        CountDownLatch attempts = new CountDownLatch(2);
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext(HttpClusterTransport.MESSAGES_PATH, exchange -> {
+            bodies.add(new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8));
+            exchange.sendResponseHeaders(bodies.size() == 1 ? 503 : 204, -1);
+            exchange.close();
+            attempts.countDown();
+        });
+        server.start();
+        transport = new HttpClusterTransport(new OkHttpClient(), new Gson(),
+                List.of("http://127.0.0.1:" + server.getAddress().getPort() + "/"), "segredo", Duration.ofHours(1), 10);
+
+        assertTrue(attempts.await(5, TimeUnit.SECONDS));
+        assertEquals(bodies.get(0), bodies.get(1));
+    }
+
+    private HttpClusterTransport receiver() {
+        HttpClusterTransport receiver = new HttpClusterTransport(new OkHttpClient(), new Gson(), List.of(), "segredo",
+                Duration.ofHours(1), 10);
+        receiver.subscribe(received::add);
+        receiver.onMessagesLost(lost::incrementAndGet);
+        return receiver;
+    }
+
+    private static ClusterMessage message(long sequence) {
+        ClusterMessage message = ClusterMessage.of(ClusterMessage.Type.GEOCODE_RESULT);
+        message.setOriginNodeId("outro-no");
+        message.setSequence(sequence);
+        message.setPublishedAt(System.currentTimeMillis());
+        message.setQuery("rua " + sequence);
+        return message;
+    }
+}
@@ -0,0 +1,96 @@
+package com.alertae.api.config;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.URLDecoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class ExportAsyncConfigTest {
+
+    private static final int PAGES = 4;
+    private static final long PAGE_DELAY_MILLIS = 250;
+
+    private static HttpServer supabase;
+
+    @LocalServerPort
+    private int port;
+
+    @DynamicPropertySource
+    static void properties(DynamicPropertyRegistry registry) throws IOException {
+        supabase = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        supabase.createContext("/rest/v1/alerts", ExportAsyncConfigTest::handleAlerts);
+        supabase.start();
+        Path dir = Files.createTempDirectory("export-timeout");
+
+        registry.add("supabase.url", () -> "http://127.0.0.1:" + supabase.getAddress().getPort());
+        registry.add("supabase.anon-key", () -> "test");
+        registry.add("alerts.index.bootstrap.enabled", () -> "false");
+        registry.add("import.work-dir", () -> dir.resolve("imports").toString());
+        registry.add("stats.snapshot-file", () -> dir.resolve("rollups.json").toString());
+        // A exportação leva cerca de 1 s, bem acima do tempo máximo das demais requisições assíncronas
+        registry.add("spring.mvc.async.request-timeout", () -> "200ms");
+        registry.add("export.page-size", () -> "1");
+        registry.add("export.request-timeout", () -> "-1");
+    }
+
+    @AfterAll
+    static void stopSupabase() {
+        supabase.stop(0);
+    }
+
+    @Test
+    void exportOutlivesTheDefaultAsyncTimeout() throws Exception {
+        HttpResponse<String> response = HttpClient.newHttpClient().send(
+                HttpRequest.newBuilder(URI.create("http://127.0.0.1:" + port + "/api/v1/alerts/export?format=csv")).build(),
+                HttpResponse.BodyHandlers.ofString());
+
+        assertEquals(200, response.statusCode());
+        assertEquals(1 + PAGES, response.body().split("\r\n").length);
+    }
+
+    private static void handleAlerts(HttpExchange exchange) throws IOException {
+        String query = URLDecoder.decode(exchange.getRequestURI().getRawQuery(), StandardCharsets.UTF_8);
+        int afterId = 0;
+        for (String param : query.split("&")) {
+            if (param.startsWith("id=gt.")) {
+                afterId = Integer.parseInt(param.substring("id=gt.".length()));
+            }
+        }
+        String body = "[]";
+        if (afterId < PAGES) {
+            try {
+                Thread.sleep(PAGE_DELAY_MILLIS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new UncheckedIOException(new IOException(e));
+            }
+            int id = afterId + 1;
+            body = "[{\"id\":\"" + id + "\",\"title\":\"Alerta " + id + "\",\"lat\":-23.5,\"long\":-46.6,"
+                    + "\"created_at\":\"2024-06-06T10:00:00Z\"}]";
+        }
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.sendResponseHeaders(200, bytes.length);
+        exchange.getResponseBody().write(bytes);
+        exchange.close();
+    }
+}
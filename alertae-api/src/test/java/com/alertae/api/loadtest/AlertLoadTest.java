@@ -0,0 +1,101 @@
+package com.alertae.api.loadtest;
+
+import com.alertae.api.service.AlertIndexBootstrap;
+import com.alertae.api.service.AlertTileService;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Teste de carga da API contra substitutos locais do Supabase (PostgREST) e do Nominatim.
+ * Não roda no build padrão; execute com {@code mvn -Ploadtest test} e ajuste a carga e as falhas
+ * injetadas pelas propriedades {@code loadtest.*} (ver README).
+ */
+@Tag("loadtest")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class AlertLoadTest {
+
+    private static final Logger log = LoggerFactory.getLogger(AlertLoadTest.class);
+
+    private static final StubSupabaseServer SUPABASE =
+            new StubSupabaseServer(StubServer.Faults.fromSystemProperties("loadtest.supabase", 20));
+    private static final StubNominatimServer NOMINATIM =
+            new StubNominatimServer(StubServer.Faults.fromSystemProperties("loadtest.nominatim", 150));
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private AlertIndexBootstrap bootstrap;
+
+    @Autowired
+    private AlertTileService tileService;
+
+    @DynamicPropertySource
+    static void stubProperties(DynamicPropertyRegistry registry) {
+        try {
+            SUPABASE.seed(Integer.getInteger("loadtest.seed-alerts", 5000), Long.getLong("loadtest.seed", 42));
+            SUPABASE.start();
+            NOMINATIM.start();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        registry.add("supabase.url", SUPABASE::baseUrl);
+        registry.add("supabase.anon-key", () -> "loadtest");
+        registry.add("geocoding.api.url", () -> NOMINATIM.baseUrl() + "/search");
+        registry.add("geocoding.rate-limit.requests-per-second", () -> System.getProperty("loadtest.geocoding.rps", "0"));
+    }
+
+    @AfterAll
+    static void stopStubs() {
+        SUPABASE.close();
+        NOMINATIM.close();
+    }
+
+    @Test
+    void mixedWorkload() throws Exception {
+        long deadline = System.currentTimeMillis() + 120_000;
+        while (!bootstrap.isReady() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(100);
+        }
+        assertTrue(bootstrap.isReady(), "Carga inicial dos índices não terminou.");
+
+        LoadDriver.Settings settings = LoadDriver.Settings.fromSystemProperties();
+        Map<String, Object> result;
+        try (LoadDriver driver = new LoadDriver("http://127.0.0.1:" + port, SUPABASE::lastId, settings)) {
+            result = driver.run();
+        }
+
+        Map<String, Object> stubs = new LinkedHashMap<>();
+        stubs.put(SUPABASE.getName(), SUPABASE.stats());
+        stubs.put(NOMINATIM.getName(), NOMINATIM.stats());
+        stubs.put("tiles", tileService.getStats());
+        String summary = new LoadTestReport(settings, result, stubs)
+                .save(Path.of(System.getProperty("loadtest.results-dir", "loadtest-results")));
+        log.info("Teste de carga concluído:\n{}", summary);
+
+        Map<?, ?> total = (Map<?, ?>) result.get("total");
+        assertTrue(((Number) total.get("requests")).longValue() > 0, "Nenhuma requisição foi concluída.");
+        String maxErrorRate = System.getProperty("loadtest.max-error-rate");
+        if (maxErrorRate != null) {
+            double errorRate = ((Number) total.get("errorRate")).doubleValue();
+            assertTrue(errorRate <= Double.parseDouble(maxErrorRate),
+                    "Taxa de erro " + errorRate + " acima do limite " + maxErrorRate);
+        }
+    }
+}
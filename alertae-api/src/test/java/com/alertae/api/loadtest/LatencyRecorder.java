@@ -0,0 +1,71 @@
+package com.alertae.api.loadtest;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Registra as latências e os status HTTP das requisições de um endpoint durante a medição.
+ * Guarda todas as amostras (em microssegundos), de modo que os percentis são exatos.
+ */
+final class LatencyRecorder {
+
+    private long[] samples = new long[1024];
+    private int count;
+    private long errors;
+    private final Map<String, Long> statuses = new TreeMap<>();
+
+    /**
+     * Registra uma requisição.
+     * @param nanos duração da requisição
+     * @param status status HTTP, ou 0 em caso de falha de conexão/timeout
+     */
+    synchronized void record(long nanos, int status) {
+        if (count == samples.length) {
+            samples = Arrays.copyOf(samples, count * 2);
+        }
+        samples[count++] = nanos / 1000;
+        if (status < 200 || status >= 400) {
+            errors++;
+        }
+        statuses.merge(status == 0 ? "io-error" : String.valueOf(status), 1L, Long::sum);
+    }
+
+    /**
+     * Resume as amostras registradas.
+     * @param seconds duração da medição, para o cálculo da vazão
+     * @return requisições, erros, vazão e percentis (em milissegundos)
+     */
+    synchronized Map<String, Object> summarize(double seconds) {
+        long[] sorted = Arrays.copyOf(samples, count);
+        Arrays.sort(sorted);
+        long sum = 0;
+        for (long sample : sorted) {
+            sum += sample;
+        }
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("requests", count);
+        summary.put("errors", errors);
+        summary.put("throughputPerSecond", round(count / seconds));
+        summary.put("meanMillis", round(count > 0 ? sum / 1000.0 / count : 0));
+        summary.put("p50Millis", percentile(sorted, 50));
+        summary.put("p95Millis", percentile(sorted, 95));
+        summary.put("p99Millis", percentile(sorted, 99));
+        summary.put("maxMillis", count > 0 ? round(sorted[count - 1] / 1000.0) : 0.0);
+        summary.put("statuses", new LinkedHashMap<>(statuses));
+        return summary;
+    }
+
+    private static double percentile(long[] sorted, double percentile) {
+        if (sorted.length == 0) {
+            return 0.0;
+        }
+        int index = (int) Math.ceil(percentile / 100.0 * sorted.length) - 1;
+        return round(sorted[Math.max(0, Math.min(sorted.length - 1, index))] / 1000.0);
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 100.0) / 100.0;
+    }
+}
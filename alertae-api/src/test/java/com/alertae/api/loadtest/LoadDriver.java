@@ -0,0 +1,249 @@
+package com.alertae.api.loadtest;
+
+import com.alertae.api.util.TileMath;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * Gerador de carga em malha fechada: {@code threads} usuários virtuais enviam requisições em sequência,
+ * sorteando a operação segundo os pesos de {@code loadtest.mix}. As requisições do aquecimento não
+ * entram nas métricas.
+ */
+final class LoadDriver implements AutoCloseable {
+
+    static final String CREATE = "POST /api/v1/alerts";
+    static final String LIST = "GET /api/v1/alerts";
+    static final String GET = "GET /api/v1/alerts/{id}";
+    static final String TILE = "GET /api/v1/alerts/tiles/{z}/{x}/{y}.mvt";
+    static final String HEATMAP = "GET /api/v1/alerts/heatmap";
+
+    private static final Map<String, String> MIX_KEYS = Map.of(
+            "create", CREATE, "list", LIST, "get", GET, "tile", TILE, "heatmap", HEATMAP);
+
+    private final String baseUrl;
+    private final LongSupplier lastId;
+    private final Settings settings;
+    private final ExecutorService clientExecutor;
+    private final HttpClient client;
+    private final String[] operations;
+    private final Map<String, LatencyRecorder> recorders = new LinkedHashMap<>();
+
+    LoadDriver(String baseUrl, LongSupplier lastId, Settings settings) {
+        this.baseUrl = baseUrl;
+        this.lastId = lastId;
+        this.settings = settings;
+        this.clientExecutor = Executors.newFixedThreadPool(Math.max(2, settings.threads / 4));
+        this.client = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofSeconds(5))
+                .executor(clientExecutor)
+                .build();
+        List<String> weighted = new ArrayList<>();
+        for (Map.Entry<String, Integer> entry : settings.mix.entrySet()) {
+            recorders.put(entry.getKey(), new LatencyRecorder());
+            for (int i = 0; i < entry.getValue(); i++) {
+                weighted.add(entry.getKey());
+            }
+        }
+        if (weighted.isEmpty()) {
+            throw new IllegalArgumentException("loadtest.mix não define nenhuma operação.");
+        }
+        this.operations = weighted.toArray(new String[0]);
+    }
+
+    /**
+     * Executa o aquecimento e a medição.
+     * @return métricas por endpoint
+     * @throws InterruptedException se a execução for interrompida
+     */
+    Map<String, Object> run() throws InterruptedException {
+        long warmupEnd = System.nanoTime() + settings.warmup.toNanos();
+        long measureEnd = warmupEnd + settings.duration.toNanos();
+        ExecutorService users = Executors.newFixedThreadPool(settings.threads);
+        for (int i = 0; i < settings.threads; i++) {
+            users.submit(() -> {
+                while (!Thread.currentThread().isInterrupted()) {
+                    long now = System.nanoTime();
+                    if (now >= measureEnd) {
+                        return;
+                    }
+                    execute(now >= warmupEnd);
+                }
+            });
+        }
+        users.shutdown();
+        if (!users.awaitTermination(settings.warmup.plus(settings.duration).toSeconds() + 120, TimeUnit.SECONDS)) {
+            users.shutdownNow();
+        }
+
+        double seconds = settings.duration.toMillis() / 1000.0;
+        Map<String, Object> endpoints = new LinkedHashMap<>();
+        for (Map.Entry<String, LatencyRecorder> entry : recorders.entrySet()) {
+            endpoints.put(entry.getKey(), entry.getValue().summarize(seconds));
+        }
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("endpoints", endpoints);
+        result.put("total", totals(endpoints, seconds));
+        return result;
+    }
+
+    @Override
+    public void close() {
+        clientExecutor.shutdownNow();
+    }
+
+    private void execute(boolean measured) {
+        String operation = operations[ThreadLocalRandom.current().nextInt(operations.length)];
+        HttpRequest request = buildRequest(operation);
+        long start = System.nanoTime();
+        int status;
+        try {
+            HttpResponse<byte[]> response = client.send(request, HttpResponse.BodyHandlers.ofByteArray());
+            status = response.statusCode();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return;
+        } catch (Exception e) {
+            status = 0;
+        }
+        if (measured) {
+            recorders.get(operation).record(System.nanoTime() - start, status);
+        }
+    }
+
+    private HttpRequest buildRequest(String operation) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        switch (operation) {
+            case CREATE:
+                return request("/api/v1/alerts")
+                        .header("Content-Type", "application/json")
+                        .POST(HttpRequest.BodyPublishers.ofString(alertBody(random)))
+                        .build();
+            case GET:
+                return request("/api/v1/alerts/" + (1 + random.nextLong(Math.max(1, lastId.getAsLong())))).GET().build();
+            case TILE: {
+                int z = 8 + random.nextInt(9);
+                double lat = -23.75 + random.nextDouble() * 0.5;
+                double lon = -46.85 + random.nextDouble() * 0.5;
+                return request("/api/v1/alerts/tiles/" + z + "/" + TileMath.lonToTileX(lon, z) + "/"
+                        + TileMath.latToTileY(lat, z) + ".mvt").GET().build();
+            }
+            case HEATMAP:
+                return request("/api/v1/alerts/heatmap?bbox=-46.9,-23.8,-46.3,-23.2&zoom=" + (9 + random.nextInt(3))).GET().build();
+            default:
+                return request("/api/v1/alerts").GET().build();
+        }
+    }
+
+    private HttpRequest.Builder request(String path) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path)).timeout(settings.requestTimeout);
+    }
+
+    /**
+     * Corpo de criação de alerta. Os endereços vêm de um conjunto de {@code loadtest.addresses} ruas,
+     * o que controla a taxa de acerto do cache de geocodificação.
+     */
+    private String alertBody(ThreadLocalRandom random) {
+        int street = random.nextInt(settings.addresses);
+        return String.format(Locale.ROOT,
+                "{\"title\":\"Alerta de carga\",\"message\":\"Gerado pelo teste de carga\","
+                        + "\"emailNotification\":\"loadtest@example.com\",\"street\":\"Rua Teste %d\","
+                        + "\"neighborhood\":\"Bairro %d\",\"city\":\"São Paulo\",\"state\":\"SP\",\"country\":\"Brasil\"}",
+                street, street % 50);
+    }
+
+    private static Map<String, Object> totals(Map<String, Object> endpoints, double seconds) {
+        long requests = 0;
+        long errors = 0;
+        for (Object value : endpoints.values()) {
+            Map<?, ?> summary = (Map<?, ?>) value;
+            requests += ((Number) summary.get("requests")).longValue();
+            errors += ((Number) summary.get("errors")).longValue();
+        }
+        Map<String, Object> total = new LinkedHashMap<>();
+        total.put("requests", requests);
+        total.put("errors", errors);
+        total.put("throughputPerSecond", Math.round(requests / seconds * 100.0) / 100.0);
+        total.put("errorRate", requests > 0 ? Math.round((double) errors / requests * 10000.0) / 10000.0 : 0.0);
+        return total;
+    }
+
+    /**
+     * Parâmetros da carga, lidos das propriedades de sistema {@code loadtest.*}.
+     */
+    static final class Settings {
+        final int threads;
+        final Duration warmup;
+        final Duration duration;
+        final Duration requestTimeout;
+        final int addresses;
+        final Map<String, Integer> mix;
+
+        Settings(int threads, Duration warmup, Duration duration, Duration requestTimeout, int addresses,
+                 Map<String, Integer> mix) {
+            this.threads = threads;
+            this.warmup = warmup;
+            this.duration = duration;
+            this.requestTimeout = requestTimeout;
+            this.addresses = addresses;
+            this.mix = mix;
+        }
+
+        /**
+         * Parâmetros em formato serializável, para o relatório.
+         */
+        Map<String, Object> describe() {
+            Map<String, Object> description = new LinkedHashMap<>();
+            description.put("threads", threads);
+            description.put("warmupSeconds", warmup.toSeconds());
+            description.put("durationSeconds", duration.toSeconds());
+            description.put("requestTimeoutMillis", requestTimeout.toMillis());
+            description.put("addresses", addresses);
+            description.put("mix", mix);
+            return description;
+        }
+
+        static Settings fromSystemProperties() {
+            return new Settings(
+                    Integer.getInteger("loadtest.threads", 16),
+                    Duration.ofSeconds(Long.getLong("loadtest.warmup-seconds", 10)),
+                    Duration.ofSeconds(Long.getLong("loadtest.duration-seconds", 60)),
+                    Duration.ofMillis(Long.getLong("loadtest.request-timeout-ms", 30000)),
+                    Integer.getInteger("loadtest.addresses", 500),
+                    parseMix(System.getProperty("loadtest.mix", "create=2,list=1,get=4,tile=2,heatmap=1")));
+        }
+
+        /**
+         * Converte "create=2,get=4" nos pesos de cada endpoint.
+         */
+        static Map<String, Integer> parseMix(String mix) {
+            Map<String, Integer> weights = new LinkedHashMap<>();
+            for (String part : mix.split(",")) {
+                String[] pair = part.trim().split("=");
+                String operation = MIX_KEYS.get(pair[0].trim().toLowerCase(Locale.ROOT));
+                if (operation == null) {
+                    throw new IllegalArgumentException("Operação desconhecida em loadtest.mix: " + pair[0]
+                            + ". Use create, list, get, tile ou heatmap.");
+                }
+                int weight = pair.length > 1 ? Integer.parseInt(pair[1].trim()) : 1;
+                if (weight > 0) {
+                    weights.put(operation, weight);
+                }
+            }
+            return weights;
+        }
+    }
+}
@@ -0,0 +1,148 @@
+package com.alertae.api.loadtest;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * Grava o resultado de uma execução do teste de carga em {@code loadtest.results-dir} (JSON para comparação
+ * automática e um resumo em texto) e o compara com a execução anterior ou com {@code loadtest.baseline}.
+ */
+final class LoadTestReport {
+
+    private static final Gson GSON = new GsonBuilder().setPrettyPrinting().create();
+    private static final DateTimeFormatter FILE_TIMESTAMP = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss");
+
+    private final Map<String, Object> report = new LinkedHashMap<>();
+
+    LoadTestReport(LoadDriver.Settings settings, Map<String, Object> result, Map<String, Object> stubs) {
+        report.put("label", System.getProperty("loadtest.label", "local"));
+        report.put("version", System.getProperty("loadtest.version", "unknown"));
+        report.put("gitCommit", gitCommit());
+        report.put("timestamp", LocalDateTime.now().toString());
+        report.put("javaVersion", System.getProperty("java.version"));
+        report.put("availableProcessors", Runtime.getRuntime().availableProcessors());
+        report.put("settings", settings.describe());
+        report.putAll(result);
+        report.put("stubs", stubs);
+    }
+
+    /**
+     * Salva o relatório e retorna o resumo em texto, com as variações em relação à execução de referência.
+     * @param directory diretório dos resultados
+     * @return resumo da execução
+     * @throws IOException em caso de erro de leitura/escrita dos arquivos
+     */
+    String save(Path directory) throws IOException {
+        Files.createDirectories(directory);
+        Path baseline = findBaseline(directory);
+        JsonObject current = GSON.toJsonTree(report).getAsJsonObject();
+        JsonObject previous = null;
+        if (baseline != null) {
+            try (Reader reader = Files.newBufferedReader(baseline, StandardCharsets.UTF_8)) {
+                previous = JsonParser.parseReader(reader).getAsJsonObject();
+            }
+        }
+
+        String name = FILE_TIMESTAMP.format(LocalDateTime.now()) + "-" + sanitize((String) report.get("label"));
+        try (Writer writer = Files.newBufferedWriter(directory.resolve(name + ".json"), StandardCharsets.UTF_8)) {
+            GSON.toJson(current, writer);
+        }
+        String summary = summarize(current, previous, baseline);
+        Files.writeString(directory.resolve(name + ".txt"), summary, StandardCharsets.UTF_8);
+        return summary;
+    }
+
+    private static String summarize(JsonObject current, JsonObject previous, Path baseline) {
+        StringBuilder out = new StringBuilder();
+        out.append(String.format(Locale.ROOT, "Teste de carga %s (versão %s, commit %s)%n",
+                current.get("label").getAsString(), current.get("version").getAsString(),
+                current.get("gitCommit").getAsString()));
+        out.append(baseline != null ? "Comparado com: " + baseline.getFileName() + System.lineSeparator()
+                : "Sem execução anterior para comparação." + System.lineSeparator());
+        out.append(String.format(Locale.ROOT, "%-42s %9s %8s %9s %9s %9s %7s %11s %11s%n",
+                "endpoint", "req/s", "reqs", "p50 ms", "p95 ms", "p99 ms", "erros", "Δ req/s", "Δ p95"));
+        JsonObject endpoints = current.getAsJsonObject("endpoints");
+        JsonObject previousEndpoints = previous != null ? previous.getAsJsonObject("endpoints") : null;
+        for (String endpoint : endpoints.keySet()) {
+            JsonObject stats = endpoints.getAsJsonObject(endpoint);
+            JsonObject before = previousEndpoints != null && previousEndpoints.has(endpoint)
+                    ? previousEndpoints.getAsJsonObject(endpoint) : null;
+            out.append(String.format(Locale.ROOT, "%-42s %9.2f %8d %9.2f %9.2f %9.2f %7d %11s %11s%n",
+                    endpoint,
+                    stats.get("throughputPerSecond").getAsDouble(),
+                    stats.get("requests").getAsLong(),
+                    stats.get("p50Millis").getAsDouble(),
+                    stats.get("p95Millis").getAsDouble(),
+                    stats.get("p99Millis").getAsDouble(),
+                    stats.get("errors").getAsLong(),
+                    delta(stats, before, "throughputPerSecond"),
+                    delta(stats, before, "p95Millis")));
+        }
+        JsonObject total = current.getAsJsonObject("total");
+        out.append(String.format(Locale.ROOT, "Total: %d requisições, %.2f req/s, taxa de erro %.2f%%%n",
+                total.get("requests").getAsLong(), total.get("throughputPerSecond").getAsDouble(),
+                total.get("errorRate").getAsDouble() * 100));
+        return out.toString();
+    }
+
+    private static String delta(JsonObject current, JsonObject previous, String field) {
+        if (previous == null || !previous.has(field)) {
+            return "-";
+        }
+        double before = previous.get(field).getAsDouble();
+        if (before == 0) {
+            return "-";
+        }
+        return String.format(Locale.ROOT, "%+.1f%%", (current.get(field).getAsDouble() - before) / before * 100);
+    }
+
+    private static Path findBaseline(Path directory) throws IOException {
+        String configured = System.getProperty("loadtest.baseline");
+        if (configured != null && !configured.isBlank()) {
+            Path path = Path.of(configured);
+            return Files.exists(path) ? path : null;
+        }
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(path -> path.getFileName().toString().endsWith(".json"))
+                    .max(Comparator.comparing(path -> path.getFileName().toString()))
+                    .orElse(null);
+        }
+    }
+
+    private static String gitCommit() {
+        try {
+            Process process = new ProcessBuilder("git", "rev-parse", "--short", "HEAD").redirectErrorStream(true).start();
+            try (BufferedReader reader = new BufferedReader(new InputStreamReader(process.getInputStream(), StandardCharsets.UTF_8))) {
+                String line = reader.readLine();
+                return process.waitFor() == 0 && line != null ? line.trim() : "unknown";
+            }
+        } catch (IOException e) {
+            return "unknown";
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return "unknown";
+        }
+    }
+
+    private static String sanitize(String value) {
+        return value.replaceAll("[^A-Za-z0-9._-]", "_");
+    }
+}
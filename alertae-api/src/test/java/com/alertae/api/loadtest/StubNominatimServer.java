@@ -0,0 +1,43 @@
+package com.alertae.api.loadtest;
+
+import com.sun.net.httpserver.HttpExchange;
+
+import java.io.IOException;
+import java.util.Locale;
+
+/**
+ * Substituto do endpoint {@code /search} do Nominatim. Cada consulta recebe coordenadas determinísticas
+ * (derivadas do hash do texto) dentro da região metropolitana de São Paulo; consultas que contêm
+ * {@value #NOT_FOUND_MARKER} retornam lista vazia, para exercitar o caminho de endereço não encontrado.
+ */
+class StubNominatimServer extends StubServer {
+
+    static final String NOT_FOUND_MARKER = "inexistente";
+
+    StubNominatimServer(Faults faults) {
+        super("nominatim", faults);
+    }
+
+    @Override
+    void handle(HttpExchange exchange) throws IOException {
+        if (!"/search".equals(exchange.getRequestURI().getPath())) {
+            send(exchange, 404, "[]");
+            return;
+        }
+        String query = null;
+        for (String[] parameter : queryParameters(exchange)) {
+            if ("q".equals(parameter[0])) {
+                query = parameter[1];
+            }
+        }
+        if (query == null || query.toLowerCase(Locale.ROOT).contains(NOT_FOUND_MARKER)) {
+            send(exchange, 200, "[]");
+            return;
+        }
+        int hash = query.toLowerCase(Locale.ROOT).hashCode();
+        double lat = -23.75 + ((hash & 0xFFFF) / 65535.0) * 0.5;
+        double lon = -46.85 + (((hash >>> 16) & 0xFFFF) / 65535.0) * 0.5;
+        send(exchange, 200, String.format(Locale.ROOT,
+                "[{\"lat\":\"%.7f\",\"lon\":\"%.7f\",\"display_name\":\"%s\"}]", lat, lon, query.replace("\\", "").replace("\"", "")));
+    }
+}
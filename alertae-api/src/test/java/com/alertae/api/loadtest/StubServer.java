@@ -0,0 +1,179 @@
+package com.alertae.api.loadtest;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Base dos servidores HTTP locais que substituem os serviços externos nos testes de carga.
+ * Aplica a cada requisição as falhas configuradas em {@link Faults} (latência, erros 5xx e 429).
+ */
+abstract class StubServer implements AutoCloseable {
+
+    private final String name;
+    private final Faults faults;
+    private final AtomicLong requests = new AtomicLong();
+    private final AtomicLong injectedErrors = new AtomicLong();
+    private final AtomicLong injectedRateLimits = new AtomicLong();
+    private HttpServer server;
+    private ExecutorService executor;
+
+    StubServer(String name, Faults faults) {
+        this.name = name;
+        this.faults = faults;
+    }
+
+    /**
+     * Inicia o servidor em uma porta livre de 127.0.0.1.
+     * @throws IOException se o servidor não puder ser iniciado
+     */
+    void start() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        executor = Executors.newCachedThreadPool();
+        server.setExecutor(executor);
+        server.createContext("/", exchange -> {
+            try {
+                requests.incrementAndGet();
+                if (!injectFault(exchange)) {
+                    handle(exchange);
+                }
+            } catch (RuntimeException e) {
+                send(exchange, 500, "{\"message\":\"" + e.getClass().getSimpleName() + "\"}");
+            } finally {
+                exchange.close();
+            }
+        });
+        server.start();
+    }
+
+    /**
+     * URL base do servidor (sem barra final).
+     * @return URL base
+     */
+    String baseUrl() {
+        return "http://127.0.0.1:" + server.getAddress().getPort();
+    }
+
+    /**
+     * Métricas do servidor para o relatório.
+     * @return requisições recebidas e falhas injetadas
+     */
+    Map<String, Object> stats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("requests", requests.get());
+        stats.put("injectedErrors", injectedErrors.get());
+        stats.put("injectedRateLimits", injectedRateLimits.get());
+        stats.put("faults", faults);
+        return stats;
+    }
+
+    String getName() {
+        return name;
+    }
+
+    @Override
+    public void close() {
+        if (server != null) {
+            server.stop(0);
+            executor.shutdownNow();
+        }
+    }
+
+    abstract void handle(HttpExchange exchange) throws IOException;
+
+    private boolean injectFault(HttpExchange exchange) throws IOException {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        long delay = faults.latencyMillis + (faults.jitterMillis > 0 ? random.nextLong(faults.jitterMillis + 1) : 0);
+        if (delay > 0) {
+            try {
+                Thread.sleep(delay);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        if (faults.rateLimitRate > 0 && random.nextDouble() < faults.rateLimitRate) {
+            injectedRateLimits.incrementAndGet();
+            exchange.getResponseHeaders().set("Retry-After", String.valueOf(faults.retryAfterSeconds));
+            send(exchange, 429, "{\"message\":\"Too Many Requests\"}");
+            return true;
+        }
+        if (faults.errorRate > 0 && random.nextDouble() < faults.errorRate) {
+            injectedErrors.incrementAndGet();
+            send(exchange, 503, "{\"message\":\"Service Unavailable\"}");
+            return true;
+        }
+        return false;
+    }
+
+    static void send(HttpExchange exchange, int status, String json) throws IOException {
+        byte[] body = json.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+        exchange.sendResponseHeaders(status, body.length == 0 ? -1 : body.length);
+        if (body.length > 0) {
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        }
+    }
+
+    /**
+     * Decodifica a query string preservando parâmetros repetidos (ex.: lat=gte.x&amp;lat=lte.y).
+     */
+    static List<String[]> queryParameters(HttpExchange exchange) {
+        List<String[]> parameters = new ArrayList<>();
+        String query = exchange.getRequestURI().getRawQuery();
+        if (query == null || query.isEmpty()) {
+            return parameters;
+        }
+        for (String pair : query.split("&")) {
+            int eq = pair.indexOf('=');
+            String key = eq >= 0 ? pair.substring(0, eq) : pair;
+            String value = eq >= 0 ? pair.substring(eq + 1) : "";
+            parameters.add(new String[]{URLDecoder.decode(key, StandardCharsets.UTF_8),
+                    URLDecoder.decode(value, StandardCharsets.UTF_8)});
+        }
+        return parameters;
+    }
+
+    /**
+     * Falhas injetadas por um servidor stub, lidas das propriedades de sistema {@code <prefixo>.latency-ms},
+     * {@code .jitter-ms}, {@code .error-rate}, {@code .rate-limit-rate} e {@code .retry-after-seconds}.
+     */
+    static final class Faults {
+        final long latencyMillis;
+        final long jitterMillis;
+        final double errorRate;
+        final double rateLimitRate;
+        final int retryAfterSeconds;
+
+        Faults(long latencyMillis, long jitterMillis, double errorRate, double rateLimitRate, int retryAfterSeconds) {
+            this.latencyMillis = latencyMillis;
+            this.jitterMillis = jitterMillis;
+            this.errorRate = errorRate;
+            this.rateLimitRate = rateLimitRate;
+            this.retryAfterSeconds = retryAfterSeconds;
+        }
+
+        static Faults fromSystemProperties(String prefix, long defaultLatencyMillis) {
+            return new Faults(
+                    Long.getLong(prefix + ".latency-ms", defaultLatencyMillis),
+                    Long.getLong(prefix + ".jitter-ms", defaultLatencyMillis / 2),
+                    Double.parseDouble(System.getProperty(prefix + ".error-rate", "0")),
+                    Double.parseDouble(System.getProperty(prefix + ".rate-limit-rate", "0")),
+                    Integer.getInteger(prefix + ".retry-after-seconds", 1));
+        }
+    }
+}
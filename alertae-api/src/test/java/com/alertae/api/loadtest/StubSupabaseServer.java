@@ -0,0 +1,301 @@
+package com.alertae.api.loadtest;
+
+import com.alertae.api.util.Timestamps;
+import com.google.gson.Gson;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import com.google.gson.JsonPrimitive;
+import com.sun.net.httpserver.HttpExchange;
+
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Substituto em memória do PostgREST do Supabase para a tabela {@code alerts} (e a tabela de arquivo).
+ * Implementa o subconjunto do contrato usado por {@code SupabaseAlertRepository}: filtros
+ * {@code eq/gt/gte/lt/lte/in}, {@code order=<coluna>.asc|desc}, {@code limit}, POST de objeto ou lista
+ * com {@code Prefer: return=representation}, PATCH e DELETE filtrados.
+ */
+class StubSupabaseServer extends StubServer {
+
+    private static final String ALERTS_PATH = "/rest/v1/alerts";
+    private static final String TABLE_PREFIX = "/rest/v1/";
+
+    private final Gson gson = new Gson();
+    private final ConcurrentSkipListMap<Long, JsonObject> alerts = new ConcurrentSkipListMap<>();
+    private final ConcurrentSkipListMap<Long, JsonObject> archived = new ConcurrentSkipListMap<>();
+    private final AtomicLong nextId = new AtomicLong(1);
+
+    StubSupabaseServer(Faults faults) {
+        super("supabase", faults);
+    }
+
+    /**
+     * Insere alertas sintéticos espalhados pela região metropolitana de São Paulo, criados nos últimos dias.
+     * @param count quantidade de alertas
+     * @param seed semente do gerador, para execuções reproduzíveis
+     */
+    void seed(int count, long seed) {
+        Random random = new Random(seed);
+        OffsetDateTime now = OffsetDateTime.now(ZoneOffset.UTC);
+        for (int i = 0; i < count; i++) {
+            JsonObject alert = new JsonObject();
+            alert.addProperty("title", "Alerta " + i);
+            alert.addProperty("message", "Alerta sintético para teste de carga");
+            alert.addProperty("email_notification", "loadtest@example.com");
+            alert.addProperty("lat", -23.75 + random.nextDouble() * 0.5);
+            alert.addProperty("long", -46.85 + random.nextDouble() * 0.5);
+            alert.addProperty("created_at", now.minusMinutes(random.nextInt(6 * 24 * 60)).toString());
+            insert(alert);
+        }
+    }
+
+    /**
+     * Maior ID atribuído até o momento.
+     * @return último ID
+     */
+    long lastId() {
+        return nextId.get() - 1;
+    }
+
+    @Override
+    void handle(HttpExchange exchange) throws IOException {
+        String path = exchange.getRequestURI().getPath();
+        if (!path.startsWith(TABLE_PREFIX)) {
+            send(exchange, 404, "{\"message\":\"Not found\"}");
+            return;
+        }
+        ConcurrentSkipListMap<Long, JsonObject> table = ALERTS_PATH.equals(path) ? alerts : archived;
+        List<String[]> parameters = queryParameters(exchange);
+        switch (exchange.getRequestMethod()) {
+            case "GET":
+                send(exchange, 200, gson.toJson(select(table, parameters)));
+                break;
+            case "POST":
+                handlePost(exchange, table, parameters);
+                break;
+            case "PATCH":
+                handlePatch(exchange, table, parameters);
+                break;
+            case "DELETE":
+                for (JsonObject row : filter(candidates(table, parameters), parameters)) {
+                    table.remove(row.get("id").getAsLong());
+                }
+                send(exchange, 204, "");
+                break;
+            default:
+                send(exchange, 405, "{\"message\":\"Method not allowed\"}");
+        }
+    }
+
+    /**
+     * Inserção como no PostgREST: em lotes sem {@code ?columns=}, todos os objetos precisam ter as mesmas chaves
+     * (PGRST102); com {@code ?columns=}, apenas as colunas listadas são gravadas.
+     */
+    private void handlePost(HttpExchange exchange, ConcurrentSkipListMap<Long, JsonObject> table,
+                            List<String[]> parameters) throws IOException {
+        JsonElement body = readBody(exchange);
+        List<JsonObject> items = new ArrayList<>();
+        if (body.isJsonArray()) {
+            for (JsonElement element : body.getAsJsonArray()) {
+                items.add(element.getAsJsonObject());
+            }
+        } else {
+            items.add(body.getAsJsonObject());
+        }
+        String columns = null;
+        for (String[] parameter : parameters) {
+            if (parameter[0].equals("columns")) {
+                columns = parameter[1];
+            }
+        }
+        if (columns != null) {
+            Set<String> allowed = Set.of(columns.split(","));
+            for (JsonObject item : items) {
+                item.keySet().removeIf(key -> !allowed.contains(key));
+            }
+        } else if (body.isJsonArray()) {
+            for (JsonObject item : items) {
+                if (!item.keySet().equals(items.get(0).keySet())) {
+                    send(exchange, 400, "{\"code\":\"PGRST102\",\"message\":\"All object keys must match\"}");
+                    return;
+                }
+            }
+        }
+        JsonArray created = new JsonArray();
+        for (JsonObject item : items) {
+            if (table == alerts) {
+                created.add(insert(item));
+            } else {
+                table.put(item.get("id").getAsLong(), item);
+            }
+        }
+        String prefer = exchange.getRequestHeaders().getFirst("Prefer");
+        send(exchange, 201, prefer != null && prefer.contains("return=representation") ? gson.toJson(created) : "");
+    }
+
+    private void handlePatch(HttpExchange exchange, ConcurrentSkipListMap<Long, JsonObject> table,
+                             List<String[]> parameters) throws IOException {
+        JsonObject changes = readBody(exchange).getAsJsonObject();
+        changes.remove("id");
+        JsonArray updated = new JsonArray();
+        for (JsonObject row : filter(candidates(table, parameters), parameters)) {
+            JsonObject copy = row.deepCopy();
+            for (String key : changes.keySet()) {
+                copy.add(key, changes.get(key));
+            }
+            table.put(copy.get("id").getAsLong(), copy);
+            updated.add(copy);
+        }
+        send(exchange, 200, gson.toJson(updated));
+    }
+
+    private JsonObject insert(JsonObject item) {
+        JsonObject row = item.deepCopy();
+        long id = nextId.getAndIncrement();
+        row.addProperty("id", id);
+        if (!row.has("created_at") || row.get("created_at").isJsonNull()) {
+            row.addProperty("created_at", OffsetDateTime.now(ZoneOffset.UTC).toString());
+        }
+        alerts.put(id, row);
+        return row;
+    }
+
+    private JsonArray select(ConcurrentSkipListMap<Long, JsonObject> table, List<String[]> parameters) {
+        Collection<JsonObject> source = candidates(table, parameters);
+        String order = null;
+        int limit = Integer.MAX_VALUE;
+        for (String[] parameter : parameters) {
+            if ("order".equals(parameter[0])) {
+                order = parameter[1];
+            } else if ("limit".equals(parameter[0])) {
+                limit = Integer.parseInt(parameter[1]);
+            }
+        }
+        List<JsonObject> rows = filter(source, parameters, order == null || order.equals("id.asc") ? limit : Integer.MAX_VALUE);
+        if (order != null && !order.equals("id.asc")) {
+            String[] parts = order.split("\\.");
+            Comparator<JsonObject> comparator = (a, b) -> compare(a.get(parts[0]), b.get(parts[0]), parts[0]);
+            rows.sort(parts.length > 1 && "desc".equals(parts[1]) ? comparator.reversed() : comparator);
+            rows = rows.subList(0, Math.min(limit, rows.size()));
+        }
+        JsonArray result = new JsonArray();
+        rows.forEach(result::add);
+        return result;
+    }
+
+    /**
+     * Usa a ordenação por ID da tabela para restringir as linhas candidatas dos filtros id=eq e id=gt.
+     */
+    private static Collection<JsonObject> candidates(ConcurrentSkipListMap<Long, JsonObject> table,
+                                                     List<String[]> parameters) {
+        for (String[] parameter : parameters) {
+            if ("id".equals(parameter[0])) {
+                try {
+                    if (parameter[1].startsWith("eq.")) {
+                        JsonObject row = table.get(Long.parseLong(parameter[1].substring(3)));
+                        return row != null ? List.of(row) : List.of();
+                    }
+                    if (parameter[1].startsWith("gt.")) {
+                        return table.tailMap(Long.parseLong(parameter[1].substring(3)), false).values();
+                    }
+                } catch (NumberFormatException e) {
+                    return List.of();
+                }
+            }
+        }
+        return table.values();
+    }
+
+    private List<JsonObject> filter(Collection<JsonObject> rows, List<String[]> parameters) {
+        return filter(rows, parameters, Integer.MAX_VALUE);
+    }
+
+    private List<JsonObject> filter(Collection<JsonObject> rows, List<String[]> parameters, int limit) {
+        List<JsonObject> result = new ArrayList<>();
+        for (JsonObject row : rows) {
+            if (result.size() >= limit) {
+                break;
+            }
+            if (matches(row, parameters)) {
+                result.add(row);
+            }
+        }
+        return result;
+    }
+
+    private static boolean matches(JsonObject row, List<String[]> parameters) {
+        for (String[] parameter : parameters) {
+            String column = parameter[0];
+            String expression = parameter[1];
+            int dot = expression.indexOf('.');
+            if (dot < 0 || "select".equals(column) || "order".equals(column) || "limit".equals(column)) {
+                continue;
+            }
+            String operator = expression.substring(0, dot);
+            String operand = expression.substring(dot + 1);
+            JsonElement value = row.get(column);
+            if ("in".equals(operator)) {
+                Set<String> values = new HashSet<>(List.of(operand.substring(1, operand.length() - 1).split(",")));
+                if (value == null || value.isJsonNull() || !values.contains(value.getAsString())) {
+                    return false;
+                }
+                continue;
+            }
+            if (value == null || value.isJsonNull()) {
+                return false;
+            }
+            int comparison = compare(value, new JsonPrimitive(operand), column);
+            boolean ok;
+            switch (operator) {
+                case "eq": ok = comparison == 0; break;
+                case "gt": ok = comparison > 0; break;
+                case "gte": ok = comparison >= 0; break;
+                case "lt": ok = comparison < 0; break;
+                case "lte": ok = comparison <= 0; break;
+                default: ok = true;
+            }
+            if (!ok) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static int compare(JsonElement a, JsonElement b, String column) {
+        if (a == null || a.isJsonNull()) {
+            return b == null || b.isJsonNull() ? 0 : 1;
+        }
+        if (b == null || b.isJsonNull()) {
+            return -1;
+        }
+        if (column.endsWith("_at")) {
+            return Long.compare(Timestamps.parseEpochMillis(a.getAsString()), Timestamps.parseEpochMillis(b.getAsString()));
+        }
+        try {
+            return Double.compare(Double.parseDouble(a.getAsString()), Double.parseDouble(b.getAsString()));
+        } catch (NumberFormatException e) {
+            return a.getAsString().compareTo(b.getAsString());
+        }
+    }
+
+    private static JsonElement readBody(HttpExchange exchange) throws IOException {
+        try (InputStreamReader reader = new InputStreamReader(exchange.getRequestBody(), StandardCharsets.UTF_8)) {
+            return JsonParser.parseReader(reader);
+        }
+    }
+}
@@ -0,0 +1,136 @@
+package com.alertae.api.repository;
+
+import com.alertae.api.model.Alert;
+import com.google.gson.Gson;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import okhttp3.OkHttpClient;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class SupabaseAlertRepositoryTest {
+
+    private final Gson gson = new Gson();
+    private final AtomicReference<String> lastQuery = new AtomicReference<>();
+    private HttpServer server;
+    private SupabaseAlertRepository repository;
+
+    @BeforeEach
+    void startServer() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/rest/v1/alerts", this::handleInsert);
+        server.start();
+        repository = new SupabaseAlertRepository(new OkHttpClient(), gson);
+        ReflectionTestUtils.setField(repository, "supabaseUrl", "http://127.0.0.1:" + server.getAddress().getPort());
+        ReflectionTestUtils.setField(repository, "supabaseAnonKey", "test");
+    }
+
+    @AfterEach
+    void stopServer() {
+        server.stop(0);
+    }
+
+    @Test
+    void createAlertsAcceptsRowsWithDifferentNullFields() throws IOException {
+        Alert complete = alert("Enchente", "Rua alagada", "enchente", "2030-01-01T00:00:00Z");
+        Alert partial = alert("Deslizamento", null, null, null);
+
+        List<Alert> created = repository.createAlerts(List.of(complete, partial));
+
+        assertEquals(2, created.size());
+        assertEquals("columns=title,message,email_notification,lat,long,category,expires_at", lastQuery.get());
+        assertEquals("enchente", created.get(0).getCategory());
+        assertNull(created.get(1).getMessage());
+        assertNull(created.get(1).getExpiresAt());
+    }
+
+    @Test
+    void createAlertsOmitsExpiryColumnsTheBatchDoesNotUse() throws IOException {
+        Alert first = alert("Enchente", "Rua alagada", null, null);
+        Alert second = alert("Deslizamento", null, null, null);
+
+        repository.createAlerts(List.of(first, second));
+
+        // Tabelas sem a migração da expiração não têm category/expires_at (PGRST204)
+        assertEquals("columns=title,message,email_notification,lat,long", lastQuery.get());
+    }
+
+    @Test
+    void archiveAlertsSendsEveryColumn() throws IOException {
+        Alert complete = alert("Enchente", "Rua alagada", "enchente", "2020-01-01T00:00:00Z");
+        complete.setId("1");
+        Alert partial = alert("Deslizamento", null, null, "2020-01-01T00:00:00Z");
+        partial.setId("2");
+
+        repository.archiveAlerts("alerts_archive", List.of(complete, partial));
+
+        assertEquals("columns=" + SupabaseAlertRepository.ARCHIVE_COLUMNS, lastQuery.get());
+    }
+
+    private static Alert alert(String title, String message, String category, String expiresAt) {
+        Alert alert = new Alert();
+        alert.setTitle(title);
+        alert.setMessage(message);
+        alert.setEmailNotification("a@b.c");
+        alert.setLat(-23.5);
+        alert.setLongitude(-46.6);
+        alert.setCategory(category);
+        alert.setExpiresAt(expiresAt);
+        return alert;
+    }
+
+    /**
+     * Reproduz a regra do PostgREST para inserções em lote: sem {@code ?columns=}, todos os objetos
+     * precisam ter as mesmas chaves (PGRST102).
+     */
+    private void handleInsert(HttpExchange exchange) throws IOException {
+        String query = exchange.getRequestURI().getRawQuery();
+        lastQuery.set(query == null ? null : URLDecoder.decode(query, StandardCharsets.UTF_8));
+        JsonArray rows = gson.fromJson(new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8), JsonArray.class);
+        Set<String> keys = null;
+        boolean mismatch = false;
+        for (JsonElement row : rows) {
+            Set<String> rowKeys = row.getAsJsonObject().keySet();
+            mismatch |= keys != null && !keys.equals(rowKeys);
+            keys = rowKeys;
+        }
+        if (mismatch && query == null) {
+            send(exchange, 400, "{\"code\":\"PGRST102\",\"message\":\"All object keys must match\"}");
+            return;
+        }
+        List<JsonObject> created = new ArrayList<>();
+        int id = 1;
+        for (JsonElement row : rows) {
+            JsonObject object = row.getAsJsonObject().deepCopy();
+            object.addProperty("id", id++);
+            object.addProperty("created_at", "2025-01-01T00:00:00+00:00");
+            created.add(object);
+        }
+        send(exchange, 201, gson.toJson(created));
+    }
+
+    private static void send(HttpExchange exchange, int status, String body) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.sendResponseHeaders(status, bytes.length);
+        exchange.getResponseBody().write(bytes);
+        exchange.close();
+    }
+}
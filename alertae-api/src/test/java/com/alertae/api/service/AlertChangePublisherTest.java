@@ -0,0 +1,184 @@
+package com.alertae.api.service;
+
+import com.alertae.api.model.Alert;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class AlertChangePublisherTest {
+
+    private final Map<Alert, Integer> held = new HashMap<>();
+    private final List<Alert> forwarded = new ArrayList<>();
+    private AlertChangePublisher publisher;
+
+    @BeforeEach
+    void setUp() {
+        AlertChangeListener counter = new AlertChangeListener() {
+            @Override
+            public void onAlertCreated(Alert alert) {
+                held.merge(alert, 1, Integer::sum);
+            }
+
+            @Override
+            public void onAlertUpdated(Alert previous, Alert current) {
+                onAlertDeleted(previous);
+                onAlertCreated(current);
+            }
+
+            @Override
+            public void onAlertDeleted(Alert previous) {
+                held.merge(previous, -1, Integer::sum);
+                held.values().removeIf(count -> count == 0);
+            }
+
+            @Override
+            public void onAlertsReset() {
+                held.clear();
+            }
+        };
+        AlertChangeListener forwarder = new AlertChangeListener() {
+            @Override
+            public void onAlertCreated(Alert alert) {
+                forwarded.add(alert);
+            }
+
+            @Override
+            public void onAlertUpdated(Alert previous, Alert current) {
+                forwarded.add(current);
+            }
+
+            @Override
+            public void onAlertDeleted(Alert previous) {
+                forwarded.add(previous);
+            }
+
+            @Override
+            public void onAlertsReset() {
+                throw new AssertionError("listener sem estado não deve ser reiniciado");
+            }
+
+            @Override
+            public boolean holdsAlertState() {
+                return false;
+            }
+        };
+        StaticListableBeanFactory beanFactory = new StaticListableBeanFactory(Map.of("counter", counter, "forwarder", forwarder));
+        publisher = new AlertChangePublisher(beanFactory.getBeanProvider(AlertChangeListener.class));
+        publisher.beginLoad();
+    }
+
+    @Test
+    void updateBeforeItsPageIsNotCountedTwice() {
+        Alert previous = alert("1", "antes");
+        Alert current = alert("1", "depois");
+        publisher.publishUpdated(previous, current);
+        publisher.publishLoaded(current);
+        publisher.finishLoad();
+
+        assertEquals(Map.of(current, 1), held);
+    }
+
+    @Test
+    void updateAfterItsPageIsApplied() {
+        Alert previous = alert("1", "antes");
+        Alert current = alert("1", "depois");
+        publisher.publishLoaded(previous);
+        publisher.publishUpdated(previous, current);
+        publisher.finishLoad();
+
+        assertEquals(Map.of(current, 1), held);
+    }
+
+    @Test
+    void loadedVersionIsMatchedByContentNotHash() {
+        // "Aa" e "BB" têm o mesmo hashCode
+        Alert first = alert("1", "Aa");
+        Alert second = alert("1", "BB");
+        Alert third = alert("1", "CC");
+        assertEquals(first.hashCode(), second.hashCode());
+        publisher.publishUpdated(first, second);
+        publisher.publishLoaded(second);
+        publisher.publishUpdated(second, third);
+        publisher.finishLoad();
+
+        assertEquals(Map.of(third, 1), held);
+    }
+
+    @Test
+    void deleteOfAlertNotLoadedIsIgnored() {
+        publisher.publishDeleted(alert("1", "excluído"));
+        publisher.publishLoaded(alert("2", "outro"));
+        publisher.finishLoad();
+
+        assertEquals(Map.of(alert("2", "outro"), 1), held);
+    }
+
+    @Test
+    void deleteOfLoadedAlertIsApplied() {
+        Alert loaded = alert("1", "carregado");
+        publisher.publishLoaded(loaded);
+        publisher.publishDeleted(loaded);
+        publisher.finishLoad();
+
+        assertEquals(Map.of(), held);
+    }
+
+    @Test
+    void createDuringLoadIsAppliedOnceAtTheEnd() {
+        Alert created = alert("3", "novo");
+        publisher.publishCreated(created);
+        assertEquals(Map.of(), held);
+
+        publisher.finishLoad();
+        assertEquals(Map.of(created, 1), held);
+
+        publisher.publishDeleted(created);
+        assertEquals(Map.of(), held);
+    }
+
+    @Test
+    void forwardingListenerReceivesChangesDuringLoad() {
+        Alert created = alert("4", "repassado");
+        publisher.publishLoaded(alert("5", "carregado"));
+        publisher.publishCreated(created);
+
+        assertEquals(List.of(created), forwarded);
+        publisher.finishLoad();
+        assertEquals(List.of(created), forwarded);
+    }
+
+    @Test
+    void reloadDiscardsStateAndReconcilesChanges() {
+        Alert kept = alert("1", "mantido");
+        Alert stale = alert("2", "excluído em outra instância");
+        publisher.publishLoaded(kept);
+        publisher.publishLoaded(stale);
+        publisher.finishLoad();
+
+        publisher.beginReload();
+        assertEquals(Map.of(), held);
+        Alert updated = alert("1", "atualizado");
+        publisher.publishLoaded(kept);
+        publisher.publishUpdated(kept, updated);
+        publisher.finishLoad();
+
+        assertEquals(Map.of(updated, 1), held);
+    }
+
+    private static Alert alert(String id, String title) {
+        Alert alert = new Alert();
+        alert.setId(id);
+        alert.setTitle(title);
+        alert.setLat(-23.5);
+        alert.setLongitude(-46.6);
+        alert.setCreatedAt("2025-01-01T00:00:00+00:00");
+        return alert;
+    }
+}
@@ -0,0 +1,103 @@
+package com.alertae.api.service;
+
+import com.alertae.api.dto.AlertFilter;
+import com.alertae.api.dto.HeatmapGrid;
+import com.alertae.api.model.Alert;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class AlertHeatmapServiceTest {
+
+    private static final String BBOX = "-46.7,-23.6,-46.5,-23.5";
+
+    private AlertHeatmapService heatmapService;
+
+    @BeforeEach
+    void setUp() {
+        heatmapService = new AlertHeatmapService();
+        ReflectionTestUtils.setField(heatmapService, "maxZoom", 12);
+        ReflectionTestUtils.setField(heatmapService, "cellBits", 4);
+        ReflectionTestUtils.setField(heatmapService, "maxCells", 65536);
+        heatmapService.init();
+    }
+
+    @Test
+    void countsAreRunLengthEncoded() {
+        heatmapService.onAlertCreated(alert("1", -23.55, -46.63, "2024-06-06T10:00:00Z"));
+        heatmapService.onAlertCreated(alert("2", -23.55, -46.63, "2024-06-07T10:00:00Z"));
+        heatmapService.onAlertCreated(alert("3", -23.52, -46.55, "2024-06-07T11:00:00Z"));
+
+        HeatmapGrid grid = heatmapService.getHeatmap(AlertFilter.of(BBOX, null, null), 8);
+        int[] cells = decode(grid.getRle());
+
+        assertEquals(grid.getWidth() * grid.getHeight(), cells.length);
+        assertEquals(3, grid.getTotal());
+        assertEquals(2, grid.getMax());
+        assertEquals(3, Arrays.stream(cells).sum());
+        for (int i = 2; i < grid.getRle().length; i += 2) {
+            // Execuções vizinhas nunca têm o mesmo valor
+            assertNotEquals(grid.getRle()[i - 2], grid.getRle()[i]);
+        }
+    }
+
+    @Test
+    void periodSelectsDailyGrids() {
+        heatmapService.onAlertCreated(alert("1", -23.55, -46.63, "2024-06-06T10:00:00Z"));
+        heatmapService.onAlertCreated(alert("2", -23.55, -46.63, "2024-06-07T10:00:00Z"));
+
+        HeatmapGrid grid = heatmapService.getHeatmap(AlertFilter.of(BBOX, "2024-06-07T00:00:00Z", "2024-06-08T00:00:00Z"), 8);
+
+        assertEquals(1, grid.getTotal());
+    }
+
+    @Test
+    void deleteAndUpdateMoveTheCount() {
+        Alert before = alert("1", -23.55, -46.63, "2024-06-06T10:00:00Z");
+        Alert after = alert("1", -23.52, -46.55, "2024-06-06T10:00:00Z");
+        heatmapService.onAlertCreated(before);
+        heatmapService.onAlertUpdated(before, after);
+        heatmapService.onAlertDeleted(after);
+
+        HeatmapGrid grid = heatmapService.getHeatmap(AlertFilter.of(BBOX, null, null), 8);
+
+        assertEquals(0, grid.getTotal());
+        assertArrayEquals(new int[]{0, grid.getWidth() * grid.getHeight()}, grid.getRle());
+    }
+
+    @Test
+    void oversizedGridIsRejected() {
+        assertThrows(IllegalArgumentException.class,
+                () -> heatmapService.getHeatmap(AlertFilter.of("-180,-85,180,85", null, null), 12));
+    }
+
+    private static int[] decode(int[] rle) {
+        int size = 0;
+        for (int i = 1; i < rle.length; i += 2) {
+            size += rle[i];
+        }
+        int[] cells = new int[size];
+        int position = 0;
+        for (int i = 0; i < rle.length; i += 2) {
+            Arrays.fill(cells, position, position + rle[i + 1], rle[i]);
+            position += rle[i + 1];
+        }
+        return cells;
+    }
+
+    private static Alert alert(String id, double lat, double lon, String createdAt) {
+        Alert alert = new Alert();
+        alert.setId(id);
+        alert.setLat(lat);
+        alert.setLongitude(lon);
+        alert.setCreatedAt(createdAt);
+        return alert;
+    }
+}
@@ -0,0 +1,94 @@
+package com.alertae.api.service;
+
+import com.alertae.api.dto.AlertImportRow;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class AlertImportReaderTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void csvMapsColumnsByHeaderName() throws IOException {
+        Path file = write("alerts.csv", "﻿Latitude,Title,LONG,city,expires_at,country\r\n"
+                + "-23.5,\"Enchente, centro\",-46.6,Campinas,2030-01-01T00:00:00Z,\r\n"
+                + "\r\n"
+                + "abc,Deslizamento,,Santos,amanhã,Portugal\r\n");
+
+        try (AlertImportReader reader = AlertImportReader.open(file, "csv")) {
+            AlertImportRow first = reader.next();
+            assertEquals("Enchente, centro", first.getTitle());
+            assertEquals(-23.5, first.getLat());
+            assertEquals(-46.6, first.getLongitude());
+            assertEquals("Campinas", first.getCity());
+            assertEquals("2030-01-01T00:00:00Z", first.getExpiresAt());
+            assertEquals("Brasil", first.getCountry());
+
+            AlertImportRow second = reader.next();
+            assertEquals("Deslizamento", second.getTitle());
+            assertNull(second.getLat());
+            assertNull(second.getLongitude());
+            assertNull(second.getExpiresAt());
+            assertEquals("Portugal", second.getCountry());
+
+            assertNull(reader.next());
+        }
+    }
+
+    @Test
+    void csvWithoutTitleColumnIsRejected() throws IOException {
+        Path file = write("alerts.csv", "message,city\nsem título,Campinas\n");
+
+        assertThrows(IOException.class, () -> AlertImportReader.open(file, "csv"));
+    }
+
+    @Test
+    void geoJsonReadsPropertiesAndPointGeometry() throws IOException {
+        Path file = write("alerts.geojson", """
+                {"type": "FeatureCollection", "name": "alertas", "features": [
+                  {"type": "Feature", "geometry": {"type": "Point", "coordinates": [-46.6, -23.5]},
+                   "properties": {"title": "Enchente", "emailNotification": "a@b.c", "category": " "}},
+                  {"type": "Feature", "geometry": {"type": "LineString", "coordinates": [[0, 0], [1, 1]]},
+                   "properties": {"title": "Sem ponto", "street": "Rua A", "city": "Santos"}}
+                ]}
+                """);
+
+        try (AlertImportReader reader = AlertImportReader.open(file, "geojson")) {
+            AlertImportRow first = reader.next();
+            assertEquals("Enchente", first.getTitle());
+            assertEquals("a@b.c", first.getEmailNotification());
+            assertEquals(-23.5, first.getLat());
+            assertEquals(-46.6, first.getLongitude());
+            assertNull(first.getCategory());
+
+            AlertImportRow second = reader.next();
+            assertEquals("Rua A", second.getStreet());
+            assertNull(second.getLat());
+
+            assertNull(reader.next());
+        }
+    }
+
+    @Test
+    void geoJsonWithoutFeaturesIsEmpty() throws IOException {
+        Path file = write("alerts.geojson", "{\"type\": \"FeatureCollection\"}");
+
+        try (AlertImportReader reader = AlertImportReader.open(file, "geojson")) {
+            assertNull(reader.next());
+        }
+    }
+
+    private Path write(String name, String content) throws IOException {
+        return Files.writeString(dir.resolve(name), content, StandardCharsets.UTF_8);
+    }
+}
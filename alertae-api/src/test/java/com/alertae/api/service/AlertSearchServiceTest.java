@@ -0,0 +1,110 @@
+package com.alertae.api.service;
+
+import com.alertae.api.dto.AlertFilter;
+import com.alertae.api.dto.AlertSearchHit;
+import com.alertae.api.dto.AlertSearchResult;
+import com.alertae.api.model.Alert;
+import com.alertae.api.repository.SupabaseAlertRepository;
+import com.google.gson.Gson;
+import okhttp3.OkHttpClient;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AlertSearchServiceTest {
+
+    private AlertHotSet hotSet;
+    private AlertSearchService searchService;
+
+    @BeforeEach
+    void setUp() {
+        SupabaseAlertRepository repository = new SupabaseAlertRepository(new OkHttpClient(), new Gson());
+        AlertChangePublisher publisher = new AlertChangePublisher(
+                new StaticListableBeanFactory().getBeanProvider(AlertChangeListener.class));
+        AlertIndexBootstrap bootstrap = new AlertIndexBootstrap(repository, publisher);
+        hotSet = new AlertHotSet(bootstrap);
+        searchService = new AlertSearchService(hotSet, bootstrap, repository);
+        ReflectionTestUtils.setField(searchService, "maxResults", 100);
+
+        add(alert("1", "Enchente na avenida", "Água subindo rápido", -23.55));
+        add(alert("2", "Queda de árvore", "Enchente leve na rua", -22.90));
+        add(alert("3", "Falta de luz", "Bairro inteiro sem energia", -23.55));
+    }
+
+    @Test
+    void titleMatchesRankAboveMessageMatches() throws IOException {
+        AlertSearchResult result = searchService.search("enchentes", new AlertFilter(), 10);
+
+        assertEquals(List.of("enchent"), result.getTerms());
+        assertEquals(2, result.getTotal());
+        assertEquals(List.of("1", "2"), ids(result));
+        assertTrue(result.getResults().get(0).getScore() > result.getResults().get(1).getScore());
+    }
+
+    @Test
+    void documentsMatchingMoreTermsRankFirst() throws IOException {
+        AlertSearchResult result = searchService.search("enchente árvore", new AlertFilter(), 10);
+
+        assertEquals(List.of("2", "1"), ids(result));
+    }
+
+    @Test
+    void filterAndLimitApplyToMatches() throws IOException {
+        AlertFilter saoPaulo = AlertFilter.of("-47,-24,-46,-23", null, null);
+
+        assertEquals(List.of("1"), ids(searchService.search("enchente", saoPaulo, 10)));
+
+        AlertSearchResult limited = searchService.search("enchente", new AlertFilter(), 1);
+        assertEquals(2, limited.getTotal());
+        assertEquals(List.of("1"), ids(limited));
+    }
+
+    @Test
+    void deletedAndUpdatedAlertsLeaveTheIndex() throws IOException {
+        Alert first = hotSet.get("1");
+        searchService.onAlertDeleted(first);
+        hotSet.onAlertDeleted(first);
+        Alert previous = hotSet.get("3");
+        Alert updated = alert("3", "Falta de luz após enchente", null, -23.55);
+        searchService.onAlertUpdated(previous, updated);
+        hotSet.onAlertUpdated(previous, updated);
+
+        assertEquals(List.of("3", "2"), ids(searchService.search("enchente", new AlertFilter(), 10)));
+        assertEquals(0, searchService.search("energia", new AlertFilter(), 10).getTotal());
+        assertEquals(2, searchService.size());
+    }
+
+    @Test
+    void invalidQueriesAreRejected() {
+        assertThrows(IllegalArgumentException.class, () -> searchService.search("de para", new AlertFilter(), 10));
+        assertThrows(IllegalArgumentException.class, () -> searchService.search("enchente", new AlertFilter(), 101));
+    }
+
+    private void add(Alert alert) {
+        hotSet.onAlertCreated(alert);
+        searchService.onAlertCreated(alert);
+    }
+
+    private static List<String> ids(AlertSearchResult result) {
+        return result.getResults().stream().map(AlertSearchHit::getAlert).map(Alert::getId).toList();
+    }
+
+    private static Alert alert(String id, String title, String message, double lat) {
+        Alert alert = new Alert();
+        alert.setId(id);
+        alert.setTitle(title);
+        alert.setMessage(message);
+        alert.setLat(lat);
+        alert.setLongitude(-46.6);
+        alert.setCreatedAt("2024-06-06T10:00:00Z");
+        return alert;
+    }
+}
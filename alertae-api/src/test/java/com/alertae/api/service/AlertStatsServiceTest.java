@@ -0,0 +1,122 @@
+package com.alertae.api.service;
+
+import com.alertae.api.dto.AlertStatsGroup;
+import com.alertae.api.dto.AlertStatsResult;
+import com.alertae.api.model.Alert;
+import com.google.gson.Gson;
+import com.google.gson.JsonObject;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class AlertStatsServiceTest {
+
+    @TempDir
+    Path dir;
+
+    private AlertStatsService stats;
+
+    @BeforeEach
+    void setUp() {
+        stats = newService();
+    }
+
+    @Test
+    void creationsAreCountedPerBucketAndGroup() {
+        stats.onAlertCreated(alert(Duration.ZERO), "Campinas", "SP");
+        stats.onAlertCreated(alert(Duration.ZERO), "Campinas", "SP");
+        stats.onAlertCreated(alert(Duration.ZERO));
+
+        AlertStatsResult total = stats.getStats("none", "day", null, null, 10);
+        assertEquals(3, total.getTotal());
+        assertEquals(3, total.getGroups().get(0).getCounts()[29]);
+
+        AlertStatsResult cities = stats.getStats("city", "minute", null, null, 10);
+        assertEquals(2, cities.getTotal());
+        assertEquals("campinas/sp", cities.getGroups().get(0).getKey());
+        assertEquals(1, stats.getStats("geohash", "hour", null, null, 10).getTotalGroups());
+    }
+
+    @Test
+    void newerBucketRecyclesTheSlotAndOlderOneIsIgnored() {
+        // Com 30 posições diárias, hoje e 30 dias atrás caem na mesma posição
+        stats.onAlertCreated(alert(Duration.ofDays(30)));
+        stats.onAlertCreated(alert(Duration.ZERO));
+        stats.onAlertCreated(alert(Duration.ofDays(30)));
+
+        AlertStatsResult result = stats.getStats("none", "day", null, null, 10);
+        assertEquals(1, result.getTotal());
+        assertEquals(1, result.getGroups().get(0).getCounts()[29]);
+    }
+
+    @Test
+    void countSaturatesAtTheMaximum() throws IOException {
+        long max = (1L << 24) - 1;
+        long today = Math.floorDiv(System.currentTimeMillis(), Duration.ofDays(1).toMillis());
+        Files.writeString(dir.resolve("rollups.json"), "{\"version\":1,\"savedAt\":\"2024-06-06T10:00:00Z\","
+                + "\"dimensions\":{\"NONE\":[{\"key\":\"total\",\"label\":\"Total\",\"DAY\":[" + today + "," + (max - 1) + "]}]}}");
+        stats = newService();
+
+        stats.onAlertCreated(alert(Duration.ZERO));
+        stats.onAlertCreated(alert(Duration.ZERO));
+
+        assertEquals(max, stats.getStats("none", "day", null, null, 10).getTotal());
+    }
+
+    @Test
+    void snapshotDropsGroupsOutsideRetention() throws IOException {
+        stats.onAlertCreated(alert(Duration.ofDays(100)), "Santos", "SP");
+        stats.onAlertCreated(alert(Duration.ZERO), "Campinas", "SP");
+
+        stats.saveSnapshot();
+
+        JsonObject snapshot = new Gson().fromJson(Files.readString(dir.resolve("rollups.json")), JsonObject.class);
+        assertEquals(1, snapshot.getAsJsonObject("dimensions").getAsJsonArray("CITY").size());
+    }
+
+    @Test
+    void groupsOutsideRetentionAreDroppedWhenTheLimitIsReached() {
+        stats.onAlertCreated(alert(Duration.ofDays(100)), "Santos", "SP");
+        stats.onAlertCreated(alert(Duration.ofDays(100)), "Guarujá", "SP");
+
+        stats.onAlertCreated(alert(Duration.ZERO), "Campinas", "SP");
+        stats.onAlertCreated(alert(Duration.ZERO), "Sorocaba", "SP");
+        stats.onAlertCreated(alert(Duration.ZERO), "Jundiaí", "SP");
+
+        List<String> labels = stats.getStats("city", "minute", null, null, 10).getGroups().stream()
+                .map(AlertStatsGroup::getLabel).sorted().toList();
+        assertEquals(List.of("Campinas - SP", "Outros", "Sorocaba - SP"), labels);
+    }
+
+    private AlertStatsService newService() {
+        AlertStatsService service = new AlertStatsService(new Gson());
+        ReflectionTestUtils.setField(service, "minuteBuckets", 60);
+        ReflectionTestUtils.setField(service, "hourBuckets", 24);
+        ReflectionTestUtils.setField(service, "dayBuckets", 30);
+        ReflectionTestUtils.setField(service, "geohashPrecision", 4);
+        ReflectionTestUtils.setField(service, "maxKeys", 2);
+        ReflectionTestUtils.setField(service, "maxGroups", 100);
+        ReflectionTestUtils.setField(service, "snapshotFile", dir.resolve("rollups.json").toString());
+        service.init();
+        return service;
+    }
+
+    private static Alert alert(Duration age) {
+        Alert alert = new Alert();
+        alert.setId("1");
+        alert.setLat(-23.5);
+        alert.setLongitude(-46.6);
+        alert.setCreatedAt(Instant.now().minus(age).toString());
+        return alert;
+    }
+}
@@ -0,0 +1,124 @@
+package com.alertae.api.service;
+
+import com.alertae.api.model.Alert;
+import com.alertae.api.repository.SupabaseAlertRepository;
+import com.google.gson.Gson;
+import okhttp3.OkHttpClient;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AlertTileServiceTest {
+
+    @Test
+    void mortonInterleavesXAndYBits() {
+        assertEquals(0L, AlertTileService.morton(0, 0));
+        assertEquals(1L, AlertTileService.morton(1, 0));
+        assertEquals(2L, AlertTileService.morton(0, 1));
+        assertEquals(15L, AlertTileService.morton(3, 3));
+        assertEquals(0b011001L, AlertTileService.morton(0b101, 0b010));
+    }
+
+    @Test
+    void mortonUsesAllCoordinateBits() {
+        int max = (1 << 24) - 1;
+
+        assertEquals(0x555555555555L, AlertTileService.morton(max, 0));
+        assertEquals(0xAAAAAAAAAAAAL, AlertTileService.morton(0, max));
+        assertEquals((1L << 48) - 1, AlertTileService.morton(max, max));
+    }
+
+    @Test
+    void childrenOfATileAreAContiguousRange() {
+        int x = 1234;
+        int y = 5678;
+        long parent = AlertTileService.morton(x, y);
+
+        for (int dy = 0; dy < 2; dy++) {
+            for (int dx = 0; dx < 2; dx++) {
+                long child = AlertTileService.morton(2 * x + dx, 2 * y + dy);
+                assertTrue(child >= parent * 4 && child <= parent * 4 + 3);
+            }
+        }
+    }
+
+    @Test
+    void pointTilesCarryOnlyTheRenderedProperties() {
+        AlertHotSet hotSet = hotSet();
+        AlertTileService tileService = tileService(hotSet, 10);
+        Alert alert = alert("1", null);
+        alert.setMessage("Mensagem do alerta");
+        alert.setEmailNotification("morador@example.com");
+        alert.setCategory("enchente");
+        hotSet.onAlertCreated(alert);
+        tileService.onAlertCreated(alert);
+
+        String tile = new String(tileService.getTile(0, 0, 0), StandardCharsets.ISO_8859_1);
+
+        assertTrue(tile.contains("title") && tile.contains("Alerta 1"));
+        assertTrue(tile.contains("category") && tile.contains("enchente"));
+        assertFalse(tile.contains("message") || tile.contains("Mensagem do alerta"));
+        assertFalse(tile.contains("email_notification") || tile.contains("morador@example.com"));
+        assertFalse(tile.contains("created_at"));
+    }
+
+    @Test
+    void denseTilesCountOnlyActiveAlerts() {
+        AlertHotSet hotSet = hotSet();
+        AlertTileService tileService = tileService(hotSet, 1);
+
+        String past = Instant.now().minusSeconds(60).toString();
+        Alert expired = alert("1", past);
+        Alert evicted = alert("2", null);
+        for (Alert alert : new Alert[] {expired, evicted, alert("3", null), alert("4", null), alert("5", null)}) {
+            hotSet.onAlertCreated(alert);
+            tileService.onAlertCreated(alert);
+        }
+        assertEquals(4, Arrays.stream(tileService.clusterCounts(0, 0, 0)).sum());
+
+        evicted.setExpiresAt(past);
+        hotSet.evict();
+        tileService.onAlertUpdated(null, alert("3", past));
+
+        assertEquals(2, Arrays.stream(tileService.clusterCounts(0, 0, 0)).sum());
+        assertEquals(2, Arrays.stream(tileService.clusterCounts(12, 1517, 2323)).sum());
+        assertEquals(2, tileService.getStats().getIndexedAlerts());
+    }
+
+    private static AlertHotSet hotSet() {
+        SupabaseAlertRepository repository = new SupabaseAlertRepository(new OkHttpClient(), new Gson());
+        AlertChangePublisher publisher = new AlertChangePublisher(
+                new StaticListableBeanFactory().getBeanProvider(AlertChangeListener.class));
+        return new AlertHotSet(new AlertIndexBootstrap(repository, publisher));
+    }
+
+    private static AlertTileService tileService(AlertHotSet hotSet, int maxFeatures) {
+        AlertTileService tileService = new AlertTileService(hotSet);
+        ReflectionTestUtils.setField(tileService, "maxZoom", 22);
+        ReflectionTestUtils.setField(tileService, "maxFeatures", maxFeatures);
+        ReflectionTestUtils.setField(tileService, "cacheMaxEntries", 100);
+        ReflectionTestUtils.setField(tileService, "clusterMaxZoom", 12);
+        ReflectionTestUtils.setField(tileService, "clusterBits", 4);
+        tileService.init();
+        return tileService;
+    }
+
+    private static Alert alert(String id, String expiresAt) {
+        Alert alert = new Alert();
+        alert.setId(id);
+        alert.setTitle("Alerta " + id);
+        alert.setLat(-23.55);
+        alert.setLongitude(-46.63);
+        alert.setCreatedAt(Instant.now().toString());
+        alert.setExpiresAt(expiresAt);
+        return alert;
+    }
+}
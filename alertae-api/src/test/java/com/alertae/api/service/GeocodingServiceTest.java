@@ -0,0 +1,91 @@
+package com.alertae.api.service;
+
+import com.google.gson.Gson;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import okhttp3.OkHttpClient;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class GeocodingServiceTest {
+
+    private final List<String> queries = new CopyOnWriteArrayList<>();
+    private HttpServer server;
+    private GeocodingService geocodingService;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/search", this::handleSearch);
+        server.start();
+        geocodingService = new GeocodingService(new OkHttpClient(), new Gson());
+        ReflectionTestUtils.setField(geocodingService, "geocodingApiUrl",
+                "http://127.0.0.1:" + server.getAddress().getPort() + "/search");
+        ReflectionTestUtils.setField(geocodingService, "requestsPerSecond", 0);
+        ReflectionTestUtils.setField(geocodingService, "cacheMaxEntries", 2);
+        geocodingService.init();
+    }
+
+    @AfterEach
+    void stopServer() {
+        server.stop(0);
+    }
+
+    @Test
+    void leastRecentlyUsedQueryIsEvicted() {
+        geocode("Campinas");
+        geocode("Santos");
+        geocode("Campinas");
+        geocode("Sorocaba");
+        assertEquals(3, queries.size());
+
+        geocode("Campinas");
+        assertEquals(3, queries.size());
+
+        geocode("Santos");
+        assertEquals(4, queries.size());
+    }
+
+    @Test
+    void notFoundResultsAreCached() {
+        assertNull(geocode("Lugar Nenhum"));
+        assertNull(geocode("lugar nenhum"));
+
+        assertEquals(1, queries.size());
+    }
+
+    @Test
+    void resultsFromOtherInstancesAvoidTheRequest() {
+        geocodingService.putCachedResult("jundiaí, sp, brasil", new double[]{-23.2, -46.9});
+
+        assertArrayEquals(new double[]{-23.2, -46.9}, geocode("Jundiaí"));
+        assertEquals(List.of(), queries);
+    }
+
+    private double[] geocode(String city) {
+        return geocodingService.getCoordinatesFromAddress("", "", city, "SP", "Brasil");
+    }
+
+    private void handleSearch(HttpExchange exchange) throws IOException {
+        String query = URLDecoder.decode(exchange.getRequestURI().getRawQuery(), StandardCharsets.UTF_8);
+        queries.add(query);
+        byte[] body = (query.contains("Nenhum") ? "[]" : "[{\"lat\":\"-23.5\",\"lon\":\"-46.6\"}]")
+                .getBytes(StandardCharsets.UTF_8);
+        exchange.sendResponseHeaders(200, body.length);
+        exchange.getResponseBody().write(body);
+        exchange.close();
+    }
+}
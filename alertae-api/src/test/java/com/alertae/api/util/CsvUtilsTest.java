@@ -0,0 +1,56 @@
+package com.alertae.api.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class CsvUtilsTest {
+
+    @Test
+    void writeRowQuotesOnlyWhenNeeded() throws IOException {
+        StringWriter writer = new StringWriter();
+
+        CsvUtils.writeRow(writer, "simples", "com, vírgula", "com \"aspas\"", null, "");
+
+        assertEquals("simples,\"com, vírgula\",\"com \"\"aspas\"\"\",,\r\n", writer.toString());
+    }
+
+    @Test
+    void readRowHandlesQuotedSeparatorsAndLineBreaks() throws IOException {
+        BufferedReader reader = reader("a,\"b, c\",\"linha 1\nlinha 2\",\"diz \"\"oi\"\"\"\r\nsegunda,linha\n");
+
+        assertEquals(List.of("a", "b, c", "linha 1\nlinha 2", "diz \"oi\""), CsvUtils.readRow(reader));
+        assertEquals(List.of("segunda", "linha"), CsvUtils.readRow(reader));
+        assertNull(CsvUtils.readRow(reader));
+    }
+
+    @Test
+    void readRowReturnsLastLineWithoutLineBreak() throws IOException {
+        BufferedReader reader = reader("x,,\"\"");
+
+        assertEquals(List.of("x", "", ""), CsvUtils.readRow(reader));
+        assertNull(CsvUtils.readRow(reader));
+    }
+
+    @Test
+    void writtenRowsAreReadBack() throws IOException {
+        String[] values = {"Enchente", "Rua \"A\", nº 10\r\nCentro", null, "-23.5"};
+        StringWriter writer = new StringWriter();
+        CsvUtils.writeRow(writer, values);
+
+        List<String> row = CsvUtils.readRow(reader(writer.toString()));
+
+        assertEquals(List.of("Enchente", "Rua \"A\", nº 10\r\nCentro", "", "-23.5"), row);
+    }
+
+    private static BufferedReader reader(String content) {
+        return new BufferedReader(new StringReader(content));
+    }
+}
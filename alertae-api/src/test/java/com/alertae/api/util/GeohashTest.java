@@ -0,0 +1,38 @@
+package com.alertae.api.util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class GeohashTest {
+
+    @Test
+    void encodesKnownCoordinates() {
+        assertEquals("ezs42", Geohash.encode(42.6, -5.6, 5));
+        assertEquals("u4pruydqqvj", Geohash.encode(57.64911, 10.40744, 11));
+    }
+
+    @Test
+    void cornersMapToTheFirstAndLastCharacters() {
+        assertEquals("0", Geohash.encode(-90, -180, 1));
+        assertEquals("z", Geohash.encode(89.9, 179.9, 1));
+    }
+
+    @Test
+    void longerHashesRefineShorterOnes() {
+        String full = Geohash.encode(-23.5505, -46.6333, Geohash.MAX_PRECISION);
+
+        assertEquals(Geohash.MAX_PRECISION, full.length());
+        for (int precision = 1; precision < Geohash.MAX_PRECISION; precision++) {
+            assertTrue(full.startsWith(Geohash.encode(-23.5505, -46.6333, precision)));
+        }
+    }
+
+    @Test
+    void invalidPrecisionIsRejected() {
+        assertThrows(IllegalArgumentException.class, () -> Geohash.encode(0, 0, 0));
+        assertThrows(IllegalArgumentException.class, () -> Geohash.encode(0, 0, Geohash.MAX_PRECISION + 1));
+    }
+}
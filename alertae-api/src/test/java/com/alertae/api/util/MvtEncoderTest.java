@@ -0,0 +1,129 @@
+package com.alertae.api.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class MvtEncoderTest {
+
+    @Test
+    void tileWithoutFeaturesIsEmpty() {
+        MvtEncoder encoder = new MvtEncoder("alerts", 4096);
+
+        assertEquals(0, encoder.encode().length);
+    }
+
+    @Test
+    void pointsAreEncodedInOneLayer() {
+        MvtEncoder encoder = new MvtEncoder("alerts", 4096);
+        Map<String, Object> first = new LinkedHashMap<>();
+        first.put("id", "a1");
+        first.put("count", 3);
+        first.put("category", null);
+        Map<String, Object> second = new LinkedHashMap<>();
+        second.put("id", "a2");
+        second.put("count", 3);
+        second.put("score", 0.5);
+        second.put("expired", true);
+        encoder.addPoint(10, 20, first);
+        encoder.addPoint(4095, 0, second);
+
+        List<Field> tile = read(encoder.encode());
+        assertEquals(1, tile.size());
+        assertEquals(3, tile.get(0).number);
+        List<Field> layer = read(tile.get(0).bytes);
+
+        assertEquals(2L, value(layer, 15).varint);
+        assertEquals("alerts", string(value(layer, 1)));
+        assertEquals(4096L, value(layer, 5).varint);
+        assertEquals(List.of("id", "count", "score", "expired"), all(layer, 3).stream().map(MvtEncoderTest::string).toList());
+
+        // Valores repetidos (count = 3) são gravados uma única vez
+        List<Field> values = all(layer, 4);
+        assertEquals(5, values.size());
+        assertEquals("a1", string(value(read(values.get(0).bytes), 1)));
+        assertEquals(6L, value(read(values.get(1).bytes), 6).varint);
+        Field score = value(read(values.get(3).bytes), 3);
+        assertEquals(0.5, ByteBuffer.wrap(score.bytes).order(ByteOrder.LITTLE_ENDIAN).getDouble());
+        assertEquals(1L, value(read(values.get(4).bytes), 7).varint);
+
+        List<Field> features = all(layer, 2);
+        assertEquals(2, features.size());
+        List<Field> feature = read(features.get(0).bytes);
+        assertEquals(List.of(0L, 0L, 1L, 1L), varints(value(feature, 2).bytes));
+        assertEquals(1L, value(feature, 3).varint);
+        assertEquals(List.of(9L, 20L, 40L), varints(value(feature, 4).bytes));
+        List<Field> last = read(features.get(1).bytes);
+        assertEquals(List.of(0L, 2L, 1L, 1L, 2L, 3L, 3L, 4L), varints(value(last, 2).bytes));
+        assertEquals(List.of(9L, 8190L, 0L), varints(value(last, 4).bytes));
+    }
+
+    private record Field(int number, long varint, byte[] bytes) {
+    }
+
+    private static List<Field> read(byte[] data) {
+        ByteBuffer buffer = ByteBuffer.wrap(data);
+        List<Field> fields = new ArrayList<>();
+        while (buffer.hasRemaining()) {
+            long tag = readVarint(buffer);
+            int number = (int) (tag >>> 3);
+            switch ((int) (tag & 7)) {
+                case 0 -> fields.add(new Field(number, readVarint(buffer), null));
+                case 1 -> {
+                    byte[] bytes = new byte[8];
+                    buffer.get(bytes);
+                    fields.add(new Field(number, 0, bytes));
+                }
+                case 2 -> {
+                    byte[] bytes = new byte[(int) readVarint(buffer)];
+                    buffer.get(bytes);
+                    fields.add(new Field(number, 0, bytes));
+                }
+                default -> throw new AssertionError("Tipo de campo inesperado: " + tag);
+            }
+        }
+        return fields;
+    }
+
+    private static List<Long> varints(byte[] data) {
+        ByteBuffer buffer = ByteBuffer.wrap(data);
+        List<Long> result = new ArrayList<>();
+        while (buffer.hasRemaining()) {
+            result.add(readVarint(buffer));
+        }
+        return result;
+    }
+
+    private static long readVarint(ByteBuffer buffer) {
+        long result = 0;
+        for (int shift = 0; ; shift += 7) {
+            byte b = buffer.get();
+            result |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return result;
+            }
+        }
+    }
+
+    private static Field value(List<Field> fields, int number) {
+        List<Field> matches = all(fields, number);
+        assertEquals(1, matches.size(), "campo " + number);
+        return matches.get(0);
+    }
+
+    private static List<Field> all(List<Field> fields, int number) {
+        return fields.stream().filter(field -> field.number == number).toList();
+    }
+
+    private static String string(Field field) {
+        return new String(field.bytes, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,40 @@
+package com.alertae.api.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class PortugueseAnalyzerTest {
+
+    @Test
+    void foldRemovesAccentsAndCase() {
+        assertEquals("inundacao na regiao de sao joao", PortugueseAnalyzer.fold("Inundação na Região de São João"));
+        assertEquals("acucar", PortugueseAnalyzer.fold("AÇÚCAR"));
+    }
+
+    @Test
+    void inflectionsShareTheSameStem() {
+        assertEquals(PortugueseAnalyzer.stem("enchente"), PortugueseAnalyzer.stem("enchentes"));
+        assertEquals(PortugueseAnalyzer.stem("inundacao"), PortugueseAnalyzer.stem("inundacoes"));
+        assertEquals(PortugueseAnalyzer.stem("alagamento"), PortugueseAnalyzer.stem("alagamentos"));
+        assertEquals("animal", PortugueseAnalyzer.stem("animais"));
+        assertEquals("alag", PortugueseAnalyzer.stem("alagamento"));
+    }
+
+    @Test
+    void shortWordsAndNumbersAreKept() {
+        assertEquals("rua", PortugueseAnalyzer.stem("rua"));
+        assertEquals("2024", PortugueseAnalyzer.stem("2024"));
+        assertEquals("cas", PortugueseAnalyzer.stem("casinha"));
+    }
+
+    @Test
+    void analyzeSplitsWordsAndDropsStopwords() {
+        assertEquals(List.of("enchent", "enchent", "avenid", "12"),
+                PortugueseAnalyzer.analyze("As Enchentes e a ENCHENTE na avenida 12!"));
+        assertEquals(List.of(), PortugueseAnalyzer.analyze("de em para o"));
+        assertEquals(List.of(), PortugueseAnalyzer.analyze(null));
+    }
+}
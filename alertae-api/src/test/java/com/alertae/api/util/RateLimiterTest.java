@@ -0,0 +1,62 @@
+package com.alertae.api.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RateLimiterTest {
+
+    @Test
+    void permitsAreSpacedByTheInterval() throws InterruptedException {
+        RateLimiter limiter = new RateLimiter(20);
+
+        long elapsed = timeAcquires(limiter, 5);
+
+        // A primeira permissão é imediata; as quatro seguintes esperam 50 ms cada
+        assertTrue(elapsed >= TimeUnit.MILLISECONDS.toNanos(190), "elapsed " + elapsed);
+    }
+
+    @Test
+    void nonPositiveRateDisablesTheLimit() throws InterruptedException {
+        RateLimiter limiter = new RateLimiter(1);
+        limiter.setRate(0);
+
+        long elapsed = timeAcquires(limiter, 100);
+
+        assertTrue(elapsed < TimeUnit.MILLISECONDS.toNanos(500), "elapsed " + elapsed);
+    }
+
+    @Test
+    void permitsAreSharedBetweenThreads() throws InterruptedException {
+        RateLimiter limiter = new RateLimiter(20);
+        long start = System.nanoTime();
+        Thread[] threads = new Thread[3];
+        for (int i = 0; i < threads.length; i++) {
+            threads[i] = new Thread(() -> {
+                try {
+                    limiter.acquire();
+                    limiter.acquire();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+            threads[i].start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        // Seis permissões a 20/s: a última só é liberada após 250 ms
+        assertTrue(System.nanoTime() - start >= TimeUnit.MILLISECONDS.toNanos(240));
+    }
+
+    private static long timeAcquires(RateLimiter limiter, int permits) throws InterruptedException {
+        long start = System.nanoTime();
+        for (int i = 0; i < permits; i++) {
+            limiter.acquire();
+        }
+        return System.nanoTime() - start;
+    }
+}
@@ -0,0 +1,41 @@
+package com.alertae.api.util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class TileMathTest {
+
+    @Test
+    void knownPositionMapsToOsmTile() {
+        // Centro de São Paulo no zoom 10: tile 379/580 do OpenStreetMap
+        assertEquals(379, TileMath.lonToTileX(-46.63, 10));
+        assertEquals(580, TileMath.latToTileY(-23.55, 10));
+    }
+
+    @Test
+    void equatorAndPrimeMeridianAreTheGridCenter() {
+        assertEquals(4.0, TileMath.lonToX(0, 3), 1e-9);
+        assertEquals(4.0, TileMath.latToY(0, 3), 1e-9);
+    }
+
+    @Test
+    void indicesAreClampedToTheGrid() {
+        assertEquals(0, TileMath.lonToTileX(-180, 3));
+        assertEquals(7, TileMath.lonToTileX(180, 3));
+        assertEquals(0, TileMath.latToTileY(90, 3));
+        assertEquals(7, TileMath.latToTileY(-90, 3));
+        assertEquals(0, TileMath.lonToTileX(0, 0));
+    }
+
+    @Test
+    void tileEdgesAreInverseOfConversions() {
+        double lon = -46.63;
+        double lat = -23.55;
+
+        assertEquals(lon, TileMath.tileXToLon(TileMath.lonToX(lon, 14), 14), 1e-9);
+        assertEquals(lat, TileMath.tileYToLat(TileMath.latToY(lat, 14), 14), 1e-9);
+        assertEquals(TileMath.MAX_LATITUDE, TileMath.tileYToLat(0, 5), 1e-6);
+        assertEquals(180.0, TileMath.tileXToLon(32, 5), 1e-9);
+    }
+}
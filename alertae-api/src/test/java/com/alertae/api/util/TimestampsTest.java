@@ -0,0 +1,42 @@
+package com.alertae.api.util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TimestampsTest {
+
+    private static final long JUNE_6_2024_10H_UTC = 1_717_668_000_000L;
+
+    @Test
+    void parsesValuesWithOffset() {
+        assertEquals(JUNE_6_2024_10H_UTC, Timestamps.parseEpochMillis("2024-06-06T10:00:00+00:00"));
+        assertEquals(JUNE_6_2024_10H_UTC, Timestamps.parseEpochMillis("2024-06-06T07:00:00-03:00"));
+        assertEquals(JUNE_6_2024_10H_UTC + 123, Timestamps.parseEpochMillis("2024-06-06T10:00:00.123456Z"));
+    }
+
+    @Test
+    void valuesWithoutOffsetAreUtc() {
+        assertEquals(JUNE_6_2024_10H_UTC, Timestamps.parseEpochMillis(" 2024-06-06T10:00:00 "));
+        assertEquals(JUNE_6_2024_10H_UTC - 10 * 3_600_000L, Timestamps.parseEpochMillis("2024-06-06"));
+    }
+
+    @Test
+    void blankIsNullAndGarbageIsRejected() {
+        assertNull(Timestamps.parseEpochMillis(null));
+        assertNull(Timestamps.parseEpochMillis(" "));
+        assertThrows(IllegalArgumentException.class, () -> Timestamps.parseEpochMillis("06/06/2024"));
+    }
+
+    @Test
+    void createdAtFallsBackToNow() {
+        long before = System.currentTimeMillis();
+        long millis = Timestamps.createdAtMillis("ontem");
+
+        assertTrue(millis >= before && millis <= System.currentTimeMillis());
+        assertEquals(JUNE_6_2024_10H_UTC, Timestamps.createdAtMillis("2024-06-06T10:00:00+00:00"));
+    }
+}